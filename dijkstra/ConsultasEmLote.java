@@ -0,0 +1,161 @@
+package dijkstra;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+// =================================================================================================
+// Consultas de caminho mínimo em lote, agrupadas por origem (ou por destino)
+// =================================================================================================
+
+/**
+ * Responde muitos pares (origem, destino) de uma vez. Os pares são agrupados
+ * pela origem e cada grupo faz UMA busca de Dijkstra, que para assim que todos
+ * os destinos do grupo forem fixados. Se houver menos destinos distintos do
+ * que origens distintas (e o grafo tiver o reverso), os pares são agrupados
+ * pelo destino e a busca anda no grafo transposto.
+ *
+ * Os grupos são independentes, então rodam em paralelo, cada thread com o seu
+ * EspacoDeBusca.
+ */
+public class ConsultasEmLote {
+
+    private final DijkstraCSR dijkstra = new DijkstraCSR();
+
+    /**
+     * Calcula os caminhos mínimos de todos os pares.
+     *
+     * @param g        O grafo (o reverso é opcional; sem ele os pares são sempre
+     *                 agrupados pela origem).
+     * @param origens  origens[i] é a origem do i-ésimo par.
+     * @param destinos destinos[i] é o destino do i-ésimo par.
+     * @return resultados[i] com a distância e o caminho do i-ésimo par; verticesFixados
+     *         é o número de vértices tocados pela busca do grupo do par.
+     *         Complexidade: O(P log P) para agrupar os P pares, mais uma busca de
+     *         Dijkstra por grupo, no máximo O((V + A) log V) cada.
+     */
+    public DijkstraBidirecional.Resultado[] executar(GrafoCSR g, int[] origens, int[] destinos) {
+        if (origens.length != destinos.length) {
+            throw new IllegalArgumentException("Origens e destinos devem ter o mesmo tamanho.");
+        }
+        int numPares = origens.length;
+        boolean porDestino = g.temReverso() && distintos(destinos) < distintos(origens);
+        GrafoCSR grafoBusca = porDestino ? g.transposto() : g;
+        int[] chaves = porDestino ? destinos : origens;
+        int[] outraPonta = porDestino ? origens : destinos;
+
+        // Ordena os índices dos pares pela chave empacotando (chave, índice) num long.
+        long[] ordem = new long[numPares];
+        for (int i = 0; i < numPares; i++) {
+            ordem[i] = ((long) chaves[i] << 32) | i;
+        }
+        Arrays.sort(ordem);
+        int[] inicioGrupo = new int[numPares + 1];
+        int numGrupos = 0;
+        for (int k = 0; k < numPares; k++) {
+            if (k == 0 || (int) (ordem[k] >>> 32) != (int) (ordem[k - 1] >>> 32)) {
+                inicioGrupo[numGrupos++] = k;
+            }
+        }
+        inicioGrupo[numGrupos] = numPares;
+
+        DijkstraBidirecional.Resultado[] resultados = new DijkstraBidirecional.Resultado[numPares];
+        IntStream.range(0, numGrupos).parallel().forEach(grupo -> {
+            int de = inicioGrupo[grupo];
+            int ate = inicioGrupo[grupo + 1];
+            int raiz = (int) (ordem[de] >>> 32);
+            int[] alvos = new int[ate - de];
+            for (int k = de; k < ate; k++) {
+                alvos[k - de] = outraPonta[(int) ordem[k]];
+            }
+            Arrays.sort(alvos);
+            int distintos = 0;
+            for (int k = 0; k < alvos.length; k++) {
+                if (k == 0 || alvos[k] != alvos[k - 1]) {
+                    alvos[distintos++] = alvos[k];
+                }
+            }
+
+            EspacoDeBusca espaco = EspacoDeBusca.daThread(g.quantidadeVertices());
+            ResultadoCaminhos busca = dijkstra.executar(grafoBusca, raiz, Arrays.copyOf(alvos, distintos), espaco);
+            for (int k = de; k < ate; k++) {
+                int par = (int) ordem[k];
+                int alvo = outraPonta[par];
+                int[] caminho = busca.caminhoAte(alvo);
+                if (porDestino) {
+                    inverter(caminho); // A busca foi destino -> origem no transposto.
+                }
+                resultados[par] = new DijkstraBidirecional.Resultado(busca.distancia(alvo), caminho,
+                        espaco.verticesTocados());
+            }
+        });
+        return resultados;
+    }
+
+    private static int distintos(int[] valores) {
+        return (int) Arrays.stream(valores).distinct().count();
+    }
+
+    private static void inverter(int[] v) {
+        for (int i = 0, j = v.length - 1; i < j; i++, j--) {
+            int tmp = v[i];
+            v[i] = v[j];
+            v[j] = tmp;
+        }
+    }
+
+    public static void main(String[] args) {
+        int lado = 200;
+        int numVertices = lado * lado;
+        Random aleatorio = new Random(7);
+        GrafoCSR.Construtor construtor = new GrafoCSR.Construtor(numVertices, 4 * numVertices);
+        for (int linha = 0; linha < lado; linha++) {
+            for (int coluna = 0; coluna < lado; coluna++) {
+                int u = linha * lado + coluna;
+                if (coluna + 1 < lado) {
+                    construtor.adicionarAresta(u, u + 1, 1 + aleatorio.nextInt(100));
+                    construtor.adicionarAresta(u + 1, u, 1 + aleatorio.nextInt(100));
+                }
+                if (linha + 1 < lado) {
+                    construtor.adicionarAresta(u, u + lado, 1 + aleatorio.nextInt(100));
+                    construtor.adicionarAresta(u + lado, u, 1 + aleatorio.nextInt(100));
+                }
+            }
+        }
+        GrafoCSR g = construtor.construir(true);
+
+        // Rajada de 500 pares: poucas origens "quentes" e destinos espalhados,
+        // depois o contrário (muitas origens para poucos destinos).
+        int numPares = 500;
+        int[] poucas = new int[numPares];
+        int[] muitas = new int[numPares];
+        for (int i = 0; i < numPares; i++) {
+            poucas[i] = aleatorio.nextInt(20) * 2000;
+            muitas[i] = aleatorio.nextInt(numVertices);
+        }
+        ConsultasEmLote lote = new ConsultasEmLote();
+        DijkstraCSR dijkstra = new DijkstraCSR();
+        for (int cenario = 0; cenario < 2; cenario++) {
+            int[] origens = cenario == 0 ? poucas : muitas;
+            int[] destinos = cenario == 0 ? muitas : poucas;
+
+            long inicio = System.nanoTime();
+            DijkstraBidirecional.Resultado[] resultados = lote.executar(g, origens, destinos);
+            double tempoLote = (System.nanoTime() - inicio) / 1e6;
+
+            inicio = System.nanoTime();
+            for (int i = 0; i < numPares; i++) {
+                long esperado = dijkstra.executar(g, origens[i], destinos[i]).distancia(destinos[i]);
+                int[] caminho = resultados[i].caminho;
+                if (resultados[i].distancia != esperado || caminho[0] != origens[i]
+                        || caminho[caminho.length - 1] != destinos[i]) {
+                    throw new IllegalStateException("Par " + i + " divergiu da consulta individual.");
+                }
+            }
+            double tempoIndividual = (System.nanoTime() - inicio) / 1e6;
+            System.out.printf("%s: lote %.1f ms, uma consulta por par %.1f ms\n",
+                    cenario == 0 ? "20 origens -> 500 destinos" : "500 origens -> 20 destinos",
+                    tempoLote, tempoIndividual);
+        }
+    }
+}
@@ -0,0 +1,561 @@
+package dijkstra;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+// =================================================================================================
+// Contraction Hierarchies (CH) sobre o GrafoCSR
+// =================================================================================================
+
+/**
+ * Pré-processamento + consulta para muitos menores caminhos em um grafo que
+ * quase não muda.
+ *
+ * Pré-processamento: os vértices são "contraídos" um a um, do menos ao mais
+ * importante. Contrair v significa removê-lo e, para cada par u -> v -> w de
+ * vizinhos ainda não contraídos, criar o atalho u -> w (com peso
+ * d(u,v) + d(v,w)) somente se não existir um caminho "testemunha" de u a w,
+ * sem passar por v, com custo menor ou igual. A ordem de contração é dada
+ * pela diferença de arestas (atalhos criados - arestas removidas), somada ao
+ * número de vizinhos já contraídos para espalhar as contrações pelo grafo.
+ *
+ * Consulta: um Dijkstra bidirecional em que cada lado só sobe na hierarquia
+ * (só relaxa arestas para vértices de nível maior). As duas buscas se
+ * encontram no vértice mais alto do caminho e exploram poucas centenas de
+ * vértices mesmo em grafos grandes. No fim, os atalhos são desempacotados
+ * recursivamente no caminho original.
+ */
+public class ContractionHierarchies {
+
+    // Limites de vértices fixados em cada busca de testemunha. Se forem atingidos,
+    // o atalho é criado mesmo que talvez fosse desnecessário (nunca o contrário).
+    // Ao só estimar a prioridade de um vértice usa-se um limite bem menor.
+    private static final int LIMITE_TESTEMUNHA_CONTRACAO = 200;
+    private static final int LIMITE_TESTEMUNHA_PRIORIDADE = 20;
+
+    private final int numVertices;
+    private final int[] nivel; // Ordem de contração de cada vértice.
+
+    // Arestas que sobem: u -> w com nivel[w] > nivel[u], agrupadas por u.
+    private final int[] subidaOffsets, subidaDestinos, subidaMeios;
+    // Arestas que descem, guardadas no vértice de baixo: x -> w com nivel[x] > nivel[w], agrupadas por w.
+    private final int[] descidaOffsets, descidaOrigens, descidaMeios;
+    // Pesos em long: um atalho soma os pesos do caminho que substitui e pode
+    // passar de Integer.MAX_VALUE mesmo com todas as arestas originais em int.
+    private final long[] subidaPesos, descidaPesos;
+
+    private final int quantidadeAtalhos;
+    private final long tempoPreprocessamentoNanos;
+
+    private ContractionHierarchies(int numVertices, int[] nivel,
+            int[] subidaOffsets, int[] subidaDestinos, long[] subidaPesos, int[] subidaMeios,
+            int[] descidaOffsets, int[] descidaOrigens, long[] descidaPesos, int[] descidaMeios,
+            int quantidadeAtalhos, long tempoPreprocessamentoNanos) {
+        this.numVertices = numVertices;
+        this.nivel = nivel;
+        this.subidaOffsets = subidaOffsets;
+        this.subidaDestinos = subidaDestinos;
+        this.subidaPesos = subidaPesos;
+        this.subidaMeios = subidaMeios;
+        this.descidaOffsets = descidaOffsets;
+        this.descidaOrigens = descidaOrigens;
+        this.descidaPesos = descidaPesos;
+        this.descidaMeios = descidaMeios;
+        this.quantidadeAtalhos = quantidadeAtalhos;
+        this.tempoPreprocessamentoNanos = tempoPreprocessamentoNanos;
+    }
+
+    public int quantidadeVertices() {
+        return numVertices;
+    }
+
+    public int quantidadeAtalhos() {
+        return quantidadeAtalhos;
+    }
+
+    public long tempoPreprocessamentoNanos() {
+        return tempoPreprocessamentoNanos;
+    }
+
+    // =============================================================================================
+    // Pré-processamento
+    // =============================================================================================
+
+    /**
+     * Contrai todos os vértices do grafo e monta a hierarquia.
+     *
+     * @param g O grafo original (pesos não negativos).
+     * @return A hierarquia pronta para consultas (imutável, pode ser compartilhada entre threads).
+     *         Complexidade: depende muito da estrutura do grafo; em malhas viárias
+     *         fica próxima de O(V log V) buscas de testemunha de tamanho limitado.
+     */
+    public static ContractionHierarchies preprocessar(GrafoCSR g) {
+        long inicio = System.nanoTime();
+        Contrator contrator = new Contrator(g);
+        contrator.contrairTodos();
+        return contrator.montar(System.nanoTime() - inicio);
+    }
+
+    /**
+     * Lista de arestas de um vértice durante a contração (no máximo uma por vizinho).
+     */
+    private static final class ListaArestas {
+        int[] outro = new int[4];
+        long[] peso = new long[4];
+        int[] meio = new int[4]; // Vértice contraído que o atalho substitui, ou -1 se é aresta original.
+        int tamanho;
+
+        /**
+         * Adiciona a aresta para 'v', ou só diminui o peso se ela já existir.
+         *
+         * @return true se uma aresta nova foi criada.
+         */
+        boolean adicionarOuMelhorar(int v, long p, int m) {
+            for (int i = 0; i < tamanho; i++) {
+                if (outro[i] == v) {
+                    if (p < peso[i]) {
+                        peso[i] = p;
+                        meio[i] = m;
+                    }
+                    return false;
+                }
+            }
+            if (tamanho == outro.length) {
+                outro = Arrays.copyOf(outro, tamanho * 2);
+                peso = Arrays.copyOf(peso, tamanho * 2);
+                meio = Arrays.copyOf(meio, tamanho * 2);
+            }
+            outro[tamanho] = v;
+            peso[tamanho] = p;
+            meio[tamanho] = m;
+            tamanho++;
+            return true;
+        }
+
+        /**
+         * Remove a aresta para 'v' (troca com a última; a ordem não importa).
+         */
+        void remover(int v) {
+            for (int i = 0; i < tamanho; i++) {
+                if (outro[i] == v) {
+                    tamanho--;
+                    outro[i] = outro[tamanho];
+                    peso[i] = peso[tamanho];
+                    meio[i] = meio[tamanho];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Estado mutável usado apenas durante o pré-processamento.
+     */
+    private static final class Contrator {
+        private final int n;
+        private final ListaArestas[] saida;
+        private final ListaArestas[] entrada;
+        private final boolean[] contraido;
+        private final int[] vizinhosContraidos;
+        private final int[] nivel;
+        private final EspacoDeBusca busca;
+        private final int[] marcaAlvo; // marcaAlvo[w] == epocaAlvo => w é alvo da busca de testemunha atual.
+        private int epocaAlvo;
+        private final int[] marcaVizinho; // Evita recalcular duas vezes a prioridade do mesmo vizinho.
+        private int epocaVizinho;
+        private int atalhos;
+
+        Contrator(GrafoCSR g) {
+            n = g.quantidadeVertices();
+            saida = new ListaArestas[n];
+            entrada = new ListaArestas[n];
+            for (int v = 0; v < n; v++) {
+                saida[v] = new ListaArestas();
+                entrada[v] = new ListaArestas();
+            }
+            for (int u = 0; u < n; u++) {
+                for (int i = g.inicio(u); i < g.fim(u); i++) {
+                    int w = g.destino(i);
+                    if (w != u) { // Laços nunca fazem parte de um menor caminho.
+                        saida[u].adicionarOuMelhorar(w, g.peso(i), -1);
+                        entrada[w].adicionarOuMelhorar(u, g.peso(i), -1);
+                    }
+                }
+            }
+            contraido = new boolean[n];
+            vizinhosContraidos = new int[n];
+            nivel = new int[n];
+            busca = new EspacoDeBusca(n);
+            marcaAlvo = new int[n];
+            marcaVizinho = new int[n];
+        }
+
+        void contrairTodos() {
+            // Após cada contração os vizinhos têm a prioridade recalculada. Além disso,
+            // ao extrair v sua prioridade é conferida de novo (atualização preguiçosa):
+            // se piorou além do próximo da fila, v volta para ela.
+            IndexedMinHeap fila = new IndexedMinHeap(n, 4);
+            for (int v = 0; v < n; v++) {
+                fila.insert(v, prioridade(v));
+            }
+            int proximoNivel = 0;
+            while (!fila.isEmpty()) {
+                int v = fila.extractMin();
+                long p = prioridade(v);
+                if (!fila.isEmpty() && p > fila.chave(fila.topo())) {
+                    fila.insert(v, p);
+                    continue;
+                }
+                atalhos += processar(v, true, LIMITE_TESTEMUNHA_CONTRACAO);
+                contraido[v] = true;
+                nivel[v] = proximoNivel++;
+                // v sai do grafo restante. As listas do próprio v ficam intactas: elas só
+                // têm vizinhos ainda não contraídos (de nível maior), ou seja, são
+                // exatamente as arestas de subida e de descida de v na hierarquia.
+                for (int i = 0; i < entrada[v].tamanho; i++) {
+                    saida[entrada[v].outro[i]].remover(v);
+                }
+                for (int i = 0; i < saida[v].tamanho; i++) {
+                    entrada[saida[v].outro[i]].remover(v);
+                }
+                // Os vizinhos ganharam atalhos e um vizinho contraído: recalcula suas prioridades
+                // (uma vez só para quem é vizinho de entrada e de saída ao mesmo tempo).
+                epocaVizinho++;
+                atualizarVizinhos(saida[v], fila);
+                atualizarVizinhos(entrada[v], fila);
+            }
+        }
+
+        private void atualizarVizinhos(ListaArestas vizinhos, IndexedMinHeap fila) {
+            for (int i = 0; i < vizinhos.tamanho; i++) {
+                int w = vizinhos.outro[i];
+                if (marcaVizinho[w] != epocaVizinho) {
+                    marcaVizinho[w] = epocaVizinho;
+                    vizinhosContraidos[w]++;
+                    fila.updateKey(w, prioridade(w));
+                }
+            }
+        }
+
+        // Diferença de arestas + vizinhos já contraídos.
+        private long prioridade(int v) {
+            int removidas = saida[v].tamanho + entrada[v].tamanho;
+            return processar(v, false, LIMITE_TESTEMUNHA_PRIORIDADE) - removidas + vizinhosContraidos[v];
+        }
+
+        /**
+         * Conta (e, se aplicar for true, cria) os atalhos necessários para contrair v.
+         */
+        private int processar(int v, boolean aplicar, int limiteFixados) {
+            int necessarios = 0;
+            ListaArestas in = entrada[v], out = saida[v];
+            for (int i = 0; i < in.tamanho; i++) {
+                int u = in.outro[i];
+                long pesoUV = in.peso[i];
+                long maiorVW = -1;
+                int alvos = 0;
+                epocaAlvo++;
+                for (int j = 0; j < out.tamanho; j++) {
+                    if (out.outro[j] != u) {
+                        maiorVW = Math.max(maiorVW, out.peso[j]);
+                        marcaAlvo[out.outro[j]] = epocaAlvo;
+                        alvos++;
+                    }
+                }
+                if (alvos == 0) {
+                    continue;
+                }
+                buscarTestemunhas(u, v, pesoUV + maiorVW, limiteFixados, alvos);
+                for (int j = 0; j < out.tamanho; j++) {
+                    int w = out.outro[j];
+                    if (w == u) {
+                        continue;
+                    }
+                    long viaV = pesoUV + out.peso[j];
+                    if (busca.distancia(w) > viaV) {
+                        necessarios++;
+                        if (aplicar) {
+                            saida[u].adicionarOuMelhorar(w, viaV, v);
+                            entrada[w].adicionarOuMelhorar(u, viaV, v);
+                        }
+                    }
+                }
+            }
+            return necessarios;
+        }
+
+        // Dijkstra local a partir de 'origem' no grafo ainda não contraído, sem passar
+        // por 'ignorado'. Para quando todos os alvos foram fixados, quando passa de
+        // 'limite' ou após 'limiteFixados' vértices.
+        private void buscarTestemunhas(int origem, int ignorado, long limite, int limiteFixados, int alvos) {
+            busca.reiniciar(origem);
+            IndexedMinHeap pq = busca.heap;
+            pq.insert(origem, 0);
+            int fixados = 0;
+            while (!pq.isEmpty()) {
+                if (pq.chave(pq.topo()) > limite || ++fixados > limiteFixados) {
+                    break;
+                }
+                int x = pq.extractMin();
+                if (marcaAlvo[x] == epocaAlvo && --alvos == 0) {
+                    break;
+                }
+                long dx = busca.distancia(x);
+                ListaArestas out = saida[x];
+                for (int i = 0; i < out.tamanho; i++) {
+                    int y = out.outro[i];
+                    if (y == ignorado) {
+                        continue;
+                    }
+                    long nova = dx + out.peso[i];
+                    if (nova < busca.distancia(y)) {
+                        busca.atualizar(y, nova, x);
+                        pq.insertOrDecreaseKey(y, nova);
+                    }
+                }
+            }
+        }
+
+        // Monta a hierarquia em CSR: as listas de saída de cada vértice viram suas arestas
+        // de subida e as de entrada viram as de descida (todas para vértices de nível maior).
+        ContractionHierarchies montar(long tempoNanos) {
+            int[] subidaOffsets = new int[n + 1];
+            int[] descidaOffsets = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                subidaOffsets[v + 1] = subidaOffsets[v] + saida[v].tamanho;
+                descidaOffsets[v + 1] = descidaOffsets[v] + entrada[v].tamanho;
+            }
+            int[] subidaDestinos = new int[subidaOffsets[n]];
+            long[] subidaPesos = new long[subidaOffsets[n]];
+            int[] subidaMeios = new int[subidaOffsets[n]];
+            int[] descidaOrigens = new int[descidaOffsets[n]];
+            long[] descidaPesos = new long[descidaOffsets[n]];
+            int[] descidaMeios = new int[descidaOffsets[n]];
+            for (int v = 0; v < n; v++) {
+                System.arraycopy(saida[v].outro, 0, subidaDestinos, subidaOffsets[v], saida[v].tamanho);
+                System.arraycopy(saida[v].peso, 0, subidaPesos, subidaOffsets[v], saida[v].tamanho);
+                System.arraycopy(saida[v].meio, 0, subidaMeios, subidaOffsets[v], saida[v].tamanho);
+                System.arraycopy(entrada[v].outro, 0, descidaOrigens, descidaOffsets[v], entrada[v].tamanho);
+                System.arraycopy(entrada[v].peso, 0, descidaPesos, descidaOffsets[v], entrada[v].tamanho);
+                System.arraycopy(entrada[v].meio, 0, descidaMeios, descidaOffsets[v], entrada[v].tamanho);
+            }
+            return new ContractionHierarchies(n, nivel,
+                    subidaOffsets, subidaDestinos, subidaPesos, subidaMeios,
+                    descidaOffsets, descidaOrigens, descidaPesos, descidaMeios,
+                    atalhos, tempoNanos);
+        }
+    }
+
+    // =============================================================================================
+    // Consulta
+    // =============================================================================================
+
+    /**
+     * Consulta origem -> destino usando os dois espaços de busca da thread atual.
+     */
+    public DijkstraBidirecional.Resultado executar(int origem, int destino) {
+        return executar(origem, destino,
+                EspacoDeBusca.daThread(numVertices), EspacoDeBusca.daThreadTras(numVertices));
+    }
+
+    /**
+     * Consulta origem -> destino: Dijkstra bidirecional só para cima na hierarquia.
+     * Cada lado para quando a menor chave do seu heap já não é menor que mu.
+     *
+     * @param frente Espaço da busca a partir da origem.
+     * @param tras   Espaço da busca a partir do destino (precisa ser outro espaço).
+     * @return A distância, o caminho no grafo original e os vértices fixados.
+     */
+    public DijkstraBidirecional.Resultado executar(int origem, int destino, EspacoDeBusca frente, EspacoDeBusca tras) {
+        if (frente == tras) {
+            throw new IllegalArgumentException("As duas buscas precisam de espaços diferentes.");
+        }
+        frente.reiniciar(origem);
+        tras.reiniciar(destino);
+        IndexedMinHeap pqFrente = frente.heap;
+        IndexedMinHeap pqTras = tras.heap;
+        pqFrente.insert(origem, 0);
+        pqTras.insert(destino, 0);
+
+        long mu = origem == destino ? 0 : DijkstraCSR.INFINITO;
+        int meio = origem == destino ? origem : -1;
+        int fixados = 0;
+
+        while (!pqFrente.isEmpty() || !pqTras.isEmpty()) {
+            boolean ladoFrente = !pqFrente.isEmpty()
+                    && (pqTras.isEmpty() || pqFrente.chave(pqFrente.topo()) <= pqTras.chave(pqTras.topo()));
+            IndexedMinHeap pq = ladoFrente ? pqFrente : pqTras;
+            EspacoDeBusca este = ladoFrente ? frente : tras;
+            EspacoDeBusca outro = ladoFrente ? tras : frente;
+
+            if (pq.chave(pq.topo()) >= mu) {
+                pq.clear(); // Este lado não pode mais melhorar mu.
+                continue;
+            }
+            int u = pq.extractMin();
+            fixados++;
+            long du = este.distancia(u);
+            long dOutro = outro.distancia(u);
+            if (dOutro != DijkstraCSR.INFINITO && du + dOutro < mu) {
+                mu = du + dOutro;
+                meio = u;
+            }
+            if (podeSerParado(u, du, ladoFrente, este)) {
+                continue;
+            }
+            int inicio = ladoFrente ? subidaOffsets[u] : descidaOffsets[u];
+            int fim = ladoFrente ? subidaOffsets[u + 1] : descidaOffsets[u + 1];
+            int[] vizinhos = ladoFrente ? subidaDestinos : descidaOrigens;
+            long[] pesos = ladoFrente ? subidaPesos : descidaPesos;
+            for (int i = inicio; i < fim; i++) {
+                int v = vizinhos[i];
+                long nova = du + pesos[i];
+                if (nova < este.distancia(v)) {
+                    este.atualizar(v, nova, u);
+                    pq.insertOrDecreaseKey(v, nova);
+                }
+                long dv = outro.distancia(v);
+                if (dv != DijkstraCSR.INFINITO && este.distancia(v) + dv < mu) {
+                    mu = este.distancia(v) + dv;
+                    meio = v;
+                }
+            }
+        }
+
+        if (meio == -1) {
+            return new DijkstraBidirecional.Resultado(DijkstraCSR.INFINITO, new int[0], fixados);
+        }
+        return new DijkstraBidirecional.Resultado(mu, desempacotarCaminho(frente, tras, meio), fixados);
+    }
+
+    // "Stall-on-demand": se algum vizinho de nível maior já chega em u por um caminho
+    // mais curto que du (descendo uma aresta), du não é a distância real na busca só
+    // para cima, e nenhum caminho mínimo continua a partir de u. Não relaxamos u.
+    private boolean podeSerParado(int u, long du, boolean ladoFrente, EspacoDeBusca este) {
+        int inicio = ladoFrente ? descidaOffsets[u] : subidaOffsets[u];
+        int fim = ladoFrente ? descidaOffsets[u + 1] : subidaOffsets[u + 1];
+        int[] vizinhos = ladoFrente ? descidaOrigens : subidaDestinos;
+        long[] pesos = ladoFrente ? descidaPesos : subidaPesos;
+        for (int i = inicio; i < fim; i++) {
+            long dx = este.distancia(vizinhos[i]);
+            if (dx != DijkstraCSR.INFINITO && dx + pesos[i] < du) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Caminho na hierarquia (origem ... meio ... destino) com os atalhos expandidos.
+    private int[] desempacotarCaminho(EspacoDeBusca frente, EspacoDeBusca tras, int meio) {
+        IntStream.Builder caminho = IntStream.builder();
+        int[] ateMeio = frente.resultado.caminhoAte(meio);
+        caminho.add(ateMeio[0]);
+        for (int i = 1; i < ateMeio.length; i++) {
+            desempacotar(ateMeio[i - 1], ateMeio[i], caminho);
+        }
+        for (int v = meio, w = tras.predecessor(meio); w != -1; v = w, w = tras.predecessor(w)) {
+            desempacotar(v, w, caminho);
+        }
+        return caminho.build().toArray();
+    }
+
+    // Adiciona ao caminho os vértices da aresta a -> b (sem 'a'), expandindo atalhos.
+    private void desempacotar(int a, int b, IntStream.Builder caminho) {
+        int m = meioDaAresta(a, b);
+        if (m == -1) {
+            caminho.add(b);
+        } else {
+            desempacotar(a, m, caminho);
+            desempacotar(m, b, caminho);
+        }
+    }
+
+    private int meioDaAresta(int a, int b) {
+        if (nivel[b] > nivel[a]) {
+            for (int i = subidaOffsets[a]; i < subidaOffsets[a + 1]; i++) {
+                if (subidaDestinos[i] == b) {
+                    return subidaMeios[i];
+                }
+            }
+        } else {
+            for (int i = descidaOffsets[b]; i < descidaOffsets[b + 1]; i++) {
+                if (descidaOrigens[i] == a) {
+                    return descidaMeios[i];
+                }
+            }
+        }
+        throw new IllegalStateException("Aresta " + a + " -> " + b + " não existe na hierarquia.");
+    }
+
+    public static void main(String[] args) {
+        // Grade lado x lado com pesos aleatórios nas duas direções.
+        int lado = args.length > 0 ? Integer.parseInt(args[0]) : 150;
+        int numConsultas = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        Random aleatorio = new Random(42);
+        GrafoCSR.Construtor construtor = new GrafoCSR.Construtor(lado * lado, 4 * lado * lado);
+        for (int i = 0; i < lado; i++) {
+            for (int j = 0; j < lado; j++) {
+                int v = i * lado + j;
+                if (j + 1 < lado) {
+                    construtor.adicionarAresta(v, v + 1, 1 + aleatorio.nextInt(10));
+                    construtor.adicionarAresta(v + 1, v, 1 + aleatorio.nextInt(10));
+                }
+                if (i + 1 < lado) {
+                    construtor.adicionarAresta(v, v + lado, 1 + aleatorio.nextInt(10));
+                    construtor.adicionarAresta(v + lado, v, 1 + aleatorio.nextInt(10));
+                }
+            }
+        }
+        GrafoCSR g = construtor.construir(false);
+
+        ContractionHierarchies ch = preprocessar(g);
+        System.out.printf("Pré-processamento: %.1f ms, %d atalhos (%d arestas originais)\n",
+                ch.tempoPreprocessamentoNanos() / 1e6, ch.quantidadeAtalhos(), g.quantidadeArestas());
+
+        int[] origens = new int[numConsultas];
+        int[] destinos = new int[numConsultas];
+        Random consultas = new Random(1);
+        for (int q = 0; q < numConsultas; q++) {
+            origens[q] = consultas.nextInt(g.quantidadeVertices());
+            destinos[q] = consultas.nextInt(g.quantidadeVertices());
+        }
+
+        DijkstraCSR dijkstra = new DijkstraCSR();
+        EspacoDeBusca espaco = new EspacoDeBusca(g.quantidadeVertices());
+        long[] esperado = new long[numConsultas];
+        long inicio = System.nanoTime();
+        for (int q = 0; q < numConsultas; q++) {
+            esperado[q] = dijkstra.executar(g, origens[q], destinos[q], espaco).distancia(destinos[q]);
+        }
+        long tempoDijkstra = System.nanoTime() - inicio;
+
+        EspacoDeBusca frente = new EspacoDeBusca(g.quantidadeVertices());
+        EspacoDeBusca tras = new EspacoDeBusca(g.quantidadeVertices());
+        DijkstraBidirecional.Resultado[] respostas = new DijkstraBidirecional.Resultado[numConsultas];
+        inicio = System.nanoTime();
+        for (int q = 0; q < numConsultas; q++) {
+            respostas[q] = ch.executar(origens[q], destinos[q], frente, tras);
+        }
+        long tempoCH = System.nanoTime() - inicio;
+
+        long fixados = 0;
+        for (int q = 0; q < numConsultas; q++) {
+            DijkstraBidirecional.Resultado r = respostas[q];
+            fixados += r.verticesFixados;
+            if (r.distancia != esperado[q]) {
+                throw new IllegalStateException("CH divergiu do Dijkstra em " + origens[q] + " -> " + destinos[q]);
+            }
+            long custo = 0;
+            for (int i = 1; i < r.caminho.length; i++) {
+                custo += g.pesoAresta(r.caminho[i - 1], r.caminho[i]);
+            }
+            if (custo != r.distancia) {
+                throw new IllegalStateException("Caminho desempacotado com custo errado.");
+            }
+        }
+
+        System.out.printf("%d consultas: Dijkstra %.1f ms, CH %.1f ms (aceleração %.1fx), %d vértices fixados por consulta\n",
+                numConsultas, tempoDijkstra / 1e6, tempoCH / 1e6, (double) tempoDijkstra / tempoCH, fixados / numConsultas);
+    }
+}
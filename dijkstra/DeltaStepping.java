@@ -0,0 +1,380 @@
+package dijkstra;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// =================================================================================================
+// Delta-stepping: caminhos mínimos de origem única em paralelo
+// =================================================================================================
+
+/**
+ * Algoritmo de Meyer e Sanders. Os vértices ficam em baldes de largura delta
+ * (o balde i guarda distâncias em [i * delta, (i + 1) * delta)) e o menor balde
+ * não vazio é processado inteiro de uma vez, em paralelo:
+ *
+ * 1. Arestas leves (peso < delta) dos vértices do balde são relaxadas em
+ *    paralelo. Elas podem reinserir vértices no próprio balde, então isso se
+ *    repete até o balde esvaziar.
+ * 2. Arestas pesadas (peso >= delta) de todos os vértices que passaram pelo
+ *    balde são relaxadas uma única vez: elas nunca caem no balde atual.
+ *
+ * O relaxamento é um "compare-and-set" mínimo sobre um AtomicLongArray, então
+ * as distâncias finais são exatamente as do Dijkstra, independente da ordem.
+ *
+ * delta = 1 com pesos inteiros vira um Dijkstra com baldes (pouco paralelismo
+ * por fase); delta = infinito vira um Bellman-Ford paralelo (muito trabalho
+ * repetido). Um bom ponto de partida é o peso médio das arestas, ou
+ * peso máximo / grau médio.
+ */
+public class DeltaStepping {
+
+    public static final long INFINITO = DijkstraCSR.INFINITO;
+
+    // Quantos vértices da fronteira cada tarefa processa.
+    private static final int TAMANHO_BLOCO = 512;
+
+    private final int delta;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param delta   Largura dos baldes (>= 1).
+     * @param threads Número de threads do pool.
+     */
+    public DeltaStepping(int delta, int threads) {
+        if (delta < 1) {
+            throw new IllegalArgumentException("Delta deve ser pelo menos 1.");
+        }
+        this.delta = delta;
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * Sugere um delta a partir dos pesos do grafo: o peso máximo dividido pelo
+     * grau médio, para que cada vértice tenha em média uma aresta pesada.
+     */
+    public static int deltaSugerido(GrafoCSR g) {
+        int n = Math.max(1, g.quantidadeVertices());
+        double grauMedio = Math.max(1.0, (double) g.quantidadeArestas() / n);
+        return (int) Math.max(1, g.pesoMaximo() / grauMedio);
+    }
+
+    /**
+     * Encerra as threads do pool.
+     */
+    public void encerrar() {
+        pool.shutdown();
+    }
+
+    /**
+     * Calcula as distâncias de 'origem' a todos os vértices.
+     *
+     * @param g           O grafo (pesos não negativos).
+     * @param origem      Índice do vértice de origem.
+     * @param distancia   Saída: distancia[v], ou INFINITO se v não é alcançável.
+     * @param predecessor Saída opcional (pode ser null): predecessor[v] na árvore de
+     *                    caminhos mínimos, ou -1.
+     *                    Complexidade: O(V + A) trabalho esperado em grafos com pesos
+     *                    aleatórios, com as fases dos baldes feitas em paralelo.
+     */
+    public void executar(GrafoCSR g, int origem, long[] distancia, int[] predecessor) {
+        if (g.pesoMinimo() < 0) {
+            throw new IllegalArgumentException("O delta-stepping não aceita pesos negativos.");
+        }
+        int n = g.quantidadeVertices();
+        AtomicLongArray dist = new AtomicLongArray(n);
+        for (int v = 0; v < n; v++) {
+            dist.set(v, INFINITO);
+        }
+        dist.set(origem, 0);
+
+        // Todas as distâncias vivas estão em [i * delta, i * delta + pesoMaximo],
+        // então bastam pesoMaximo / delta + 2 baldes circulares.
+        int numBaldes = g.pesoMaximo() / delta + 2;
+        ListaInt[] baldes = new ListaInt[numBaldes];
+        for (int b = 0; b < numBaldes; b++) {
+            baldes[b] = new ListaInt();
+        }
+        baldes[0].adicionar(origem);
+        long entradas = 1;
+
+        int[] marcaFronteira = new int[n]; // Evita repetir um vértice na mesma fronteira.
+        int[] marcaRemovido = new int[n];  // Evita repetir um vértice em 'removidos'.
+        int iteracao = 0;
+        ListaInt fronteira = new ListaInt();
+        ListaInt removidos = new ListaInt();
+
+        for (long i = 0; entradas > 0; i++) {
+            ListaInt balde = baldes[(int) (i % numBaldes)];
+            if (balde.isEmpty()) {
+                continue;
+            }
+            int faseBalde = ++iteracao;
+            removidos.limpar();
+            fronteira.limpar();
+            entradas -= balde.tamanho;
+            filtrar(balde, i, dist, marcaFronteira, ++iteracao, fronteira);
+            balde.limpar();
+
+            // Fase 1: arestas leves, até o balde parar de receber vértices.
+            while (!fronteira.isEmpty()) {
+                for (int k = 0; k < fronteira.tamanho; k++) {
+                    int u = fronteira.valores[k];
+                    if (marcaRemovido[u] != faseBalde) {
+                        marcaRemovido[u] = faseBalde;
+                        removidos.adicionar(u);
+                    }
+                }
+                Saida[] saidas = relaxarEmParalelo(g, fronteira, dist, true);
+                fronteira.limpar();
+                int marca = ++iteracao;
+                entradas += distribuir(saidas, i, dist, baldes, marcaFronteira, marca, fronteira);
+            }
+
+            // Fase 2: arestas pesadas de todos os vértices que passaram pelo balde.
+            Saida[] saidas = relaxarEmParalelo(g, removidos, dist, false);
+            entradas += distribuir(saidas, i, dist, baldes, marcaFronteira, ++iteracao, fronteira);
+        }
+
+        for (int v = 0; v < n; v++) {
+            distancia[v] = dist.get(v);
+        }
+        if (predecessor != null) {
+            montarPredecessores(g, origem, distancia, predecessor);
+        }
+    }
+
+    // Copia para 'fronteira' os vértices do balde i cuja distância ainda está no
+    // balde (entradas obsoletas são descartadas), sem repetições.
+    private void filtrar(ListaInt balde, long i, AtomicLongArray dist, int[] marca, int iteracao,
+            ListaInt fronteira) {
+        for (int k = 0; k < balde.tamanho; k++) {
+            int v = balde.valores[k];
+            if (dist.get(v) / delta == i && marca[v] != iteracao) {
+                marca[v] = iteracao;
+                fronteira.adicionar(v);
+            }
+        }
+    }
+
+    // Coloca cada vértice atualizado no seu balde: os do balde atual vão para a
+    // próxima fronteira, os outros para o balde circular correspondente.
+    // Retorna quantas entradas foram adicionadas aos baldes circulares.
+    private long distribuir(Saida[] saidas, long i, AtomicLongArray dist, ListaInt[] baldes, int[] marca,
+            int iteracao, ListaInt fronteira) {
+        long adicionadas = 0;
+        for (Saida saida : saidas) {
+            for (int k = 0; k < saida.atualizados.tamanho; k++) {
+                int v = saida.atualizados.valores[k];
+                long b = dist.get(v) / delta;
+                if (b == i) {
+                    if (marca[v] != iteracao) {
+                        marca[v] = iteracao;
+                        fronteira.adicionar(v);
+                    }
+                } else {
+                    baldes[(int) (b % baldes.length)].adicionar(v);
+                    adicionadas++;
+                }
+            }
+        }
+        return adicionadas;
+    }
+
+    private Saida[] relaxarEmParalelo(GrafoCSR g, ListaInt vertices, AtomicLongArray dist, boolean leves) {
+        int blocos = (vertices.tamanho + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO;
+        Saida[] saidas = new Saida[blocos];
+        if (blocos > 0) {
+            pool.invoke(new Relaxamento(g, vertices.valores, vertices.tamanho, dist, leves, saidas,
+                    0, blocos));
+        }
+        return saidas;
+    }
+
+    /**
+     * Tarefa fork-join que divide os blocos da fronteira ao meio até sobrar um
+     * bloco, e então relaxa as arestas (leves ou pesadas) dos seus vértices.
+     * Cada bloco escreve os vértices que melhorou na sua própria Saida, então
+     * não há disputa além do compare-and-set nas distâncias.
+     */
+    private final class Relaxamento extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final GrafoCSR g;
+        private final int[] vertices;
+        private final int tamanho;
+        private final AtomicLongArray dist;
+        private final boolean leves;
+        private final Saida[] saidas;
+        private final int primeiroBloco;
+        private final int fimBloco;
+
+        Relaxamento(GrafoCSR g, int[] vertices, int tamanho, AtomicLongArray dist, boolean leves, Saida[] saidas,
+                int primeiroBloco, int fimBloco) {
+            this.g = g;
+            this.vertices = vertices;
+            this.tamanho = tamanho;
+            this.dist = dist;
+            this.leves = leves;
+            this.saidas = saidas;
+            this.primeiroBloco = primeiroBloco;
+            this.fimBloco = fimBloco;
+        }
+
+        @Override
+        protected void compute() {
+            if (fimBloco - primeiroBloco > 1) {
+                int meio = (primeiroBloco + fimBloco) >>> 1;
+                invokeAll(new Relaxamento(g, vertices, tamanho, dist, leves, saidas, primeiroBloco, meio),
+                        new Relaxamento(g, vertices, tamanho, dist, leves, saidas, meio, fimBloco));
+                return;
+            }
+            Saida saida = new Saida();
+            saidas[primeiroBloco] = saida;
+            int fim = Math.min(tamanho, (primeiroBloco + 1) * TAMANHO_BLOCO);
+            for (int k = primeiroBloco * TAMANHO_BLOCO; k < fim; k++) {
+                int u = vertices[k];
+                long du = dist.get(u);
+                for (int a = g.inicio(u), fimA = g.fim(u); a < fimA; a++) {
+                    int w = g.peso(a);
+                    if ((w < delta) == leves) {
+                        relaxar(g.destino(a), du + w, saida);
+                    }
+                }
+            }
+        }
+
+        // Mínimo atômico: tenta até conseguir gravar ou até outra thread já ter
+        // gravado uma distância menor ou igual.
+        private void relaxar(int v, long nova, Saida saida) {
+            long atual = dist.get(v);
+            while (nova < atual) {
+                if (dist.compareAndSet(v, atual, nova)) {
+                    saida.atualizados.adicionar(v);
+                    return;
+                }
+                atual = dist.get(v);
+            }
+        }
+    }
+
+    private static final class Saida {
+        final ListaInt atualizados = new ListaInt();
+    }
+
+    /**
+     * Monta a árvore de caminhos mínimos a partir das distâncias finais com uma
+     * BFS pelas arestas "justas" (dist[u] + w == dist[v]). Fazer isso depois,
+     * e não durante o relaxamento paralelo, garante uma árvore válida mesmo com
+     * arestas de peso 0 e empates.
+     * Complexidade: O(V + A).
+     */
+    private static void montarPredecessores(GrafoCSR g, int origem, long[] distancia, int[] predecessor) {
+        Arrays.fill(predecessor, -1);
+        boolean[] visitado = new boolean[g.quantidadeVertices()];
+        int[] fila = new int[g.quantidadeVertices()];
+        int inicio = 0;
+        int fim = 0;
+        fila[fim++] = origem;
+        visitado[origem] = true;
+        while (inicio < fim) {
+            int u = fila[inicio++];
+            for (int a = g.inicio(u), fimA = g.fim(u); a < fimA; a++) {
+                int v = g.destino(a);
+                if (!visitado[v] && distancia[u] + g.peso(a) == distancia[v]) {
+                    visitado[v] = true;
+                    predecessor[v] = u;
+                    fila[fim++] = v;
+                }
+            }
+        }
+    }
+
+    private static final class ListaInt {
+        int[] valores = new int[16];
+        int tamanho;
+
+        boolean isEmpty() {
+            return tamanho == 0;
+        }
+
+        void adicionar(int x) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho++] = x;
+        }
+
+        void limpar() {
+            tamanho = 0;
+        }
+    }
+
+    public static void main(String[] args) {
+        // Mesmo grafo do Dijkstra.main (Cormen, figura 24.6).
+        String[] nomes = { "s", "t", "x", "y", "z" };
+        GrafoCSR pequeno = new GrafoCSR.Construtor(nomes.length)
+                .adicionarAresta(0, 1, 10)
+                .adicionarAresta(0, 3, 5)
+                .adicionarAresta(1, 2, 1)
+                .adicionarAresta(1, 3, 2)
+                .adicionarAresta(2, 4, 4)
+                .adicionarAresta(3, 1, 3)
+                .adicionarAresta(3, 2, 9)
+                .adicionarAresta(3, 4, 2)
+                .adicionarAresta(4, 2, 6)
+                .construir(false);
+        long[] distancia = new long[nomes.length];
+        int[] predecessor = new int[nomes.length];
+        DeltaStepping delta3 = new DeltaStepping(3, 2);
+        delta3.executar(pequeno, 0, distancia, predecessor);
+        delta3.encerrar();
+        for (int v = 0; v < nomes.length; v++) {
+            System.out.printf("Distância de s a %s: %d\n", nomes[v], distancia[v]);
+            System.out.printf("%s\n", predecessor[v] >= 0 ? "Predecessor de " + nomes[v] + ": " + nomes[predecessor[v]]
+                    : "Não tem predecessor");
+        }
+
+        // Relatório de escalabilidade num grafo aleatório grande.
+        int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int grauMedio = 8;
+        Random aleatorio = new Random(42);
+        GrafoCSR.Construtor construtor = new GrafoCSR.Construtor(numVertices, numVertices * grauMedio);
+        for (int u = 0; u < numVertices; u++) {
+            for (int j = 0; j < grauMedio; j++) {
+                construtor.adicionarAresta(u, aleatorio.nextInt(numVertices), 1 + aleatorio.nextInt(1000));
+            }
+        }
+        GrafoCSR g = construtor.construir(false);
+
+        long inicio = System.nanoTime();
+        ResultadoCaminhos referencia = new DijkstraCSR().executar(g, 0, -1, new EspacoDeBusca(numVertices));
+        double tempoDijkstra = (System.nanoTime() - inicio) / 1e6;
+        System.out.printf("\n%d vértices, %d arestas. DijkstraCSR sequencial: %.1f ms\n", numVertices,
+                g.quantidadeArestas(), tempoDijkstra);
+
+        int d = args.length > 1 ? Integer.parseInt(args[1]) : deltaSugerido(g);
+        System.out.println("delta = " + d);
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        distancia = new long[numVertices];
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            DeltaStepping ds = new DeltaStepping(d, threads);
+            ds.executar(g, 0, distancia, null); // Aquecimento.
+            inicio = System.nanoTime();
+            ds.executar(g, 0, distancia, null);
+            double tempo = (System.nanoTime() - inicio) / 1e6;
+            ds.encerrar();
+            for (int v = 0; v < numVertices; v++) {
+                if (distancia[v] != referencia.distancia(v)) {
+                    throw new IllegalStateException("Delta-stepping divergiu do Dijkstra no vértice " + v);
+                }
+            }
+            System.out.printf("%2d thread(s): %8.1f ms (%.2fx o Dijkstra)\n", threads, tempo, tempoDijkstra / tempo);
+            if (threads == maxThreads) {
+                break;
+            }
+        }
+    }
+}
@@ -39,6 +39,18 @@ class Grafo {
         return vertices.length;
     }
 
+    // Converte a lista de adjacências para o formato CSR (vetores primitivos),
+    // repetindo as mesmas chamadas de adicionarAresta.
+    public GrafoCSR paraCSR(boolean comReverso) {
+        GrafoCSR.Construtor construtor = new GrafoCSR.Construtor(quantidadeVertices());
+        for (int u = 0; u < quantidadeVertices(); u++) {
+            for (Aresta a : adjacencias.get(u)) {
+                construtor.adicionarAresta(u, a.destino, a.peso);
+            }
+        }
+        return construtor.construir(comReverso);
+    }
+
     static class Vertice {
         // nome, indice, distancia estimada, predecessor
         String nome;
@@ -0,0 +1,353 @@
+package dijkstra;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+// =================================================================================================
+// A* com marcos (ALT: A*, Landmarks, Triangle inequality) sobre o GrafoCSR
+// =================================================================================================
+
+/**
+ * Busca origem-destino dirigida ao alvo. No pré-processamento escolhem-se k
+ * vértices "marcos" L e guardam-se d(L, v) e d(v, L) para todo v. Pela
+ * desigualdade triangular, para qualquer alvo t:
+ *
+ *   d(v, t) >= d(L, t) - d(L, v)     e     d(v, t) >= d(v, L) - d(t, L)
+ *
+ * O maior desses limites inferiores (entre todos os marcos) é usado como
+ * heurística h(v) do A*. Ela é consistente, então cada vértice é fixado uma
+ * única vez e o IndexedMinHeap com DECREASE-KEY continua valendo, agora com
+ * chave g(v) + h(v).
+ */
+public class DijkstraALT {
+
+    /**
+     * Estratégias de escolha dos marcos.
+     */
+    public enum Selecao {
+        ALEATORIA,     // k vértices sorteados.
+        MAIS_DISTANTE, // Cada novo marco é o vértice mais longe dos marcos já escolhidos.
+        EVITAR         // "Avoid" (Goldberg e Werneck): coloca o marco onde a heurística atual é pior.
+    }
+
+    /**
+     * Resultado do pré-processamento: os marcos e suas distâncias.
+     * É imutável, então pode ser compartilhado por todas as threads de consulta.
+     */
+    public static final class Marcos {
+        private final int[] vertices;
+        private final long[][] deMarco;  // deMarco[i][v] = d(marco i, v)
+        private final long[][] paraMarco; // paraMarco[i][v] = d(v, marco i)
+
+        Marcos(int[] vertices, long[][] deMarco, long[][] paraMarco) {
+            this.vertices = vertices;
+            this.deMarco = deMarco;
+            this.paraMarco = paraMarco;
+        }
+
+        public int quantidade() {
+            return vertices.length;
+        }
+
+        public int[] vertices() {
+            return vertices.clone();
+        }
+
+        /**
+         * Limite inferior para d(v, t) usando os marcos (0 se nenhum se aplica).
+         * Complexidade: O(k).
+         */
+        public long limiteInferior(int v, int t) {
+            long melhor = 0;
+            for (int i = 0; i < vertices.length; i++) {
+                long dLt = deMarco[i][t], dLv = deMarco[i][v];
+                if (dLt != DijkstraCSR.INFINITO && dLv != DijkstraCSR.INFINITO && dLt - dLv > melhor) {
+                    melhor = dLt - dLv;
+                }
+                long dvL = paraMarco[i][v], dtL = paraMarco[i][t];
+                if (dvL != DijkstraCSR.INFINITO && dtL != DijkstraCSR.INFINITO && dvL - dtL > melhor) {
+                    melhor = dvL - dtL;
+                }
+            }
+            return melhor;
+        }
+    }
+
+    /**
+     * Pré-processamento: escolhe k marcos e calcula as 2k árvores de menores
+     * caminhos (para frente e no grafo transposto). Esta segunda parte, que é
+     * a mais cara, roda em paralelo, um marco por tarefa. Na seleção EVITAR cada
+     * escolha depende das distâncias dos marcos anteriores, então tudo é sequencial.
+     *
+     * @param g       O grafo (com reverso).
+     * @param k       O número de marcos.
+     * @param selecao A estratégia de escolha.
+     * @param semente Semente do gerador aleatório (para resultados reproduzíveis).
+     * @return Os marcos e suas distâncias.
+     *         Complexidade: O(k (V + A) log V) de trabalho, e memória O(k V).
+     */
+    public static Marcos preprocessar(GrafoCSR g, int k, Selecao selecao, long semente) {
+        if (!g.temReverso()) {
+            throw new IllegalArgumentException("O ALT precisa do grafo reverso.");
+        }
+        int n = g.quantidadeVertices();
+        k = Math.min(k, n);
+        int[] escolhidos;
+        switch (selecao) {
+            case ALEATORIA:
+                escolhidos = selecionarAleatorios(n, k, new Random(semente));
+                break;
+            case MAIS_DISTANTE:
+                escolhidos = selecionarMaisDistantes(g, k, new Random(semente));
+                break;
+            default:
+                // O "avoid" já precisa das distâncias de cada marco para escolher o próximo.
+                return selecionarEvitando(g, k, new Random(semente));
+        }
+
+        long[][] deMarco = new long[escolhidos.length][];
+        long[][] paraMarco = new long[escolhidos.length][];
+        GrafoCSR transposto = g.transposto();
+        DijkstraCSR dijkstra = new DijkstraCSR();
+        IntStream.range(0, escolhidos.length).parallel().forEach(i -> {
+            deMarco[i] = copiarDistancias(dijkstra.executar(g, escolhidos[i], -1), n);
+            paraMarco[i] = copiarDistancias(dijkstra.executar(transposto, escolhidos[i], -1), n);
+        });
+        return new Marcos(escolhidos, deMarco, paraMarco);
+    }
+
+    /**
+     * Consulta A* origem -> destino usando o espaço de busca da thread atual.
+     */
+    public ResultadoCaminhos executar(GrafoCSR g, Marcos marcos, int origem, int destino) {
+        return executar(g, marcos, origem, destino, EspacoDeBusca.daThread(g.quantidadeVertices()));
+    }
+
+    /**
+     * Consulta A* origem -> destino.
+     *
+     * @param g       O grafo.
+     * @param marcos  O resultado de preprocessar.
+     * @param origem  Índice do vértice de origem.
+     * @param destino Índice do vértice de destino.
+     * @param espaco  O espaço de busca (um por thread).
+     * @return As distâncias g(v) dos vértices tocados; distancia(destino) é exata.
+     *         Complexidade: O((V + A)(log V + k)) no pior caso; na prática a busca
+     *         fica concentrada em volta do caminho mínimo.
+     */
+    public ResultadoCaminhos executar(GrafoCSR g, Marcos marcos, int origem, int destino, EspacoDeBusca espaco) {
+        espaco.reiniciar(origem);
+        IndexedMinHeap pq = espaco.heap;
+        pq.insert(origem, marcos.limiteInferior(origem, destino));
+
+        while (!pq.isEmpty()) {
+            int u = pq.extractMin();
+            if (u == destino) {
+                break;
+            }
+            long du = espaco.distancia(u);
+            for (int i = g.inicio(u), fim = g.fim(u); i < fim; i++) {
+                int v = g.destino(i);
+                long nova = du + g.peso(i);
+                if (nova < espaco.distancia(v)) {
+                    espaco.atualizar(v, nova, u);
+                    pq.insertOrDecreaseKey(v, nova + marcos.limiteInferior(v, destino));
+                }
+            }
+        }
+        return espaco.resultado;
+    }
+
+    // =============================================================================================
+    // Estratégias de seleção
+    // =============================================================================================
+
+    private static int[] selecionarAleatorios(int n, int k, Random aleatorio) {
+        int[] todos = IntStream.range(0, n).toArray();
+        for (int i = 0; i < k; i++) { // Fisher-Yates parcial
+            int j = i + aleatorio.nextInt(n - i);
+            int temp = todos[i];
+            todos[i] = todos[j];
+            todos[j] = temp;
+        }
+        return Arrays.copyOf(todos, k);
+    }
+
+    // Começa de um vértice aleatório; cada novo marco maximiza a menor distância
+    // (em qualquer direção) até os marcos já escolhidos.
+    private static int[] selecionarMaisDistantes(GrafoCSR g, int k, Random aleatorio) {
+        int n = g.quantidadeVertices();
+        GrafoCSR transposto = g.transposto();
+        DijkstraCSR dijkstra = new DijkstraCSR();
+        long[] menorDistancia = new long[n];
+        Arrays.fill(menorDistancia, DijkstraCSR.INFINITO);
+
+        int[] escolhidos = new int[k];
+        int atual = aleatorio.nextInt(n);
+        for (int i = 0; i < k; i++) {
+            escolhidos[i] = atual;
+            ResultadoCaminhos ida = dijkstra.executar(g, atual, -1);
+            for (int v = 0; v < n; v++) {
+                menorDistancia[v] = Math.min(menorDistancia[v], ida.distancia(v));
+            }
+            ResultadoCaminhos volta = dijkstra.executar(transposto, atual, -1);
+            int proximo = -1;
+            int inalcancavel = -1;
+            for (int v = 0; v < n; v++) {
+                menorDistancia[v] = Math.min(menorDistancia[v], volta.distancia(v));
+                if (menorDistancia[v] == DijkstraCSR.INFINITO) {
+                    inalcancavel = v;
+                } else if (menorDistancia[v] != 0 && (proximo == -1 || menorDistancia[v] > menorDistancia[proximo])) {
+                    proximo = v;
+                }
+            }
+            // Vértices inalcançáveis dos marcos só são escolhidos se não houver outro.
+            if (proximo == -1) {
+                proximo = inalcancavel;
+            }
+            if (proximo == -1) {
+                return Arrays.copyOf(escolhidos, i + 1);
+            }
+            atual = proximo;
+        }
+        return escolhidos;
+    }
+
+    // "Avoid": a partir de uma raiz r aleatória, peso(v) = d(r, v) - h(r, v) mede o
+    // quanto os marcos atuais erram para v. O tamanho de uma subárvore da árvore de
+    // menores caminhos é a soma desses pesos (0 se ela já contém um marco). Desce-se
+    // pela subárvore de maior tamanho até uma folha, que vira o novo marco.
+    private static Marcos selecionarEvitando(GrafoCSR g, int k, Random aleatorio) {
+        int n = g.quantidadeVertices();
+        GrafoCSR transposto = g.transposto();
+        DijkstraCSR dijkstra = new DijkstraCSR();
+        int[] escolhidos = new int[k];
+        long[][] deMarco = new long[k][];
+        long[][] paraMarco = new long[k][];
+        boolean[] ehMarco = new boolean[n];
+        long[] tamanho = new long[n];
+        boolean[] contemMarco = new boolean[n];
+        Integer[] ordem = new Integer[n];
+
+        for (int i = 0; i < k; i++) {
+            Marcos parciais = new Marcos(Arrays.copyOf(escolhidos, i), deMarco, paraMarco);
+            int raiz = aleatorio.nextInt(n);
+            ResultadoCaminhos arvore = dijkstra.executar(g, raiz, -1);
+
+            // Ordena os vértices alcançados da raiz do mais distante para o mais próximo,
+            // para acumular os tamanhos das folhas em direção à raiz.
+            int alcancados = 0;
+            for (int v = 0; v < n; v++) {
+                tamanho[v] = 0;
+                contemMarco[v] = ehMarco[v];
+                if (arvore.alcancado(v)) {
+                    ordem[alcancados++] = v;
+                }
+            }
+            Arrays.sort(ordem, 0, alcancados, (a, b) -> Long.compare(arvore.distancia(b), arvore.distancia(a)));
+            for (int j = 0; j < alcancados; j++) {
+                int v = ordem[j];
+                if (contemMarco[v]) {
+                    tamanho[v] = 0;
+                } else {
+                    tamanho[v] += arvore.distancia(v) - parciais.limiteInferior(raiz, v);
+                }
+                int p = arvore.predecessor(v);
+                if (p != -1) {
+                    contemMarco[p] |= contemMarco[v];
+                    tamanho[p] += tamanho[v];
+                }
+            }
+
+            // Vértice de maior tamanho; depois desce sempre para o filho de maior tamanho.
+            int atual = -1;
+            for (int j = 0; j < alcancados; j++) {
+                int v = ordem[j];
+                if (!ehMarco[v] && (atual == -1 || tamanho[v] > tamanho[atual])) {
+                    atual = v;
+                }
+            }
+            if (atual == -1) { // Todos os alcançados já são marcos: sorteia outro.
+                do {
+                    atual = aleatorio.nextInt(n);
+                } while (ehMarco[atual]);
+            }
+            while (true) {
+                int filho = -1;
+                for (int e = g.inicio(atual), fim = g.fim(atual); e < fim; e++) {
+                    int v = g.destino(e);
+                    if (arvore.predecessor(v) == atual && !ehMarco[v]
+                            && (filho == -1 || tamanho[v] > tamanho[filho])) {
+                        filho = v;
+                    }
+                }
+                if (filho == -1) {
+                    break;
+                }
+                atual = filho;
+            }
+
+            escolhidos[i] = atual;
+            ehMarco[atual] = true;
+            deMarco[i] = copiarDistancias(dijkstra.executar(g, atual, -1), n);
+            paraMarco[i] = copiarDistancias(dijkstra.executar(transposto, atual, -1), n);
+        }
+        return new Marcos(escolhidos, deMarco, paraMarco);
+    }
+
+    private static long[] copiarDistancias(ResultadoCaminhos resultado, int n) {
+        long[] distancias = new long[n];
+        for (int v = 0; v < n; v++) {
+            distancias[v] = resultado.distancia(v);
+        }
+        return distancias;
+    }
+
+    public static void main(String[] args) {
+        // Grade lado x lado com pesos aleatórios nas duas direções.
+        int lado = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int k = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        Random aleatorio = new Random(42);
+        GrafoCSR.Construtor construtor = new GrafoCSR.Construtor(lado * lado, 4 * lado * lado);
+        for (int i = 0; i < lado; i++) {
+            for (int j = 0; j < lado; j++) {
+                int v = i * lado + j;
+                if (j + 1 < lado) {
+                    construtor.adicionarAresta(v, v + 1, 1 + aleatorio.nextInt(10));
+                    construtor.adicionarAresta(v + 1, v, 1 + aleatorio.nextInt(10));
+                }
+                if (i + 1 < lado) {
+                    construtor.adicionarAresta(v, v + lado, 1 + aleatorio.nextInt(10));
+                    construtor.adicionarAresta(v + lado, v, 1 + aleatorio.nextInt(10));
+                }
+            }
+        }
+        GrafoCSR g = construtor.construir(true);
+
+        DijkstraCSR dijkstra = new DijkstraCSR();
+        DijkstraALT alt = new DijkstraALT();
+        EspacoDeBusca espaco = new EspacoDeBusca(g.quantidadeVertices());
+        for (Selecao selecao : Selecao.values()) {
+            long inicio = System.nanoTime();
+            Marcos marcos = preprocessar(g, k, selecao, 7);
+            long tempoPre = System.nanoTime() - inicio;
+
+            long tocadosDijkstra = 0, tocadosALT = 0;
+            Random consultas = new Random(1);
+            for (int q = 0; q < 100; q++) {
+                int o = consultas.nextInt(g.quantidadeVertices());
+                int t = consultas.nextInt(g.quantidadeVertices());
+                long esperado = dijkstra.executar(g, o, t, espaco).distancia(t);
+                tocadosDijkstra += espaco.verticesTocados();
+                long obtido = alt.executar(g, marcos, o, t, espaco).distancia(t);
+                tocadosALT += espaco.verticesTocados();
+                if (esperado != obtido) {
+                    throw new IllegalStateException("ALT divergiu do Dijkstra em " + o + " -> " + t);
+                }
+            }
+            System.out.printf("%s (k=%d): pré-processamento %.1f ms, vértices tocados por consulta: Dijkstra %d, ALT %d\n",
+                    selecao, marcos.quantidade(), tempoPre / 1e6, tocadosDijkstra / 100, tocadosALT / 100);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package dijkstra;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// =================================================================================================
+// Algoritmo de Dijkstra sobre o GrafoCSR
+// =================================================================================================
+
+/**
+ * Dijkstra reentrante: o grafo é somente leitura e todo o estado da consulta
+ * fica em um EspacoDeBusca. A classe não tem campos, então uma mesma instância
+ * pode atender várias threads ao mesmo tempo sobre o mesmo grafo.
+ */
+public class DijkstraCSR {
+
+    public static final long INFINITO = Long.MAX_VALUE;
+
+    /**
+     * Executa o Dijkstra usando o espaço de busca da thread atual.
+     *
+     * @param g       O grafo.
+     * @param origem  Índice do vértice de origem.
+     * @param destino Índice do vértice de destino, ou -1 para calcular a árvore completa.
+     * @return O resultado, válido até a próxima consulta desta thread.
+     *         Complexidade: O((V + A) log V).
+     */
+    public ResultadoCaminhos executar(GrafoCSR g, int origem, int destino) {
+        return executar(g, origem, destino, EspacoDeBusca.daThread(g.quantidadeVertices()));
+    }
+
+    /**
+     * Executa o Dijkstra no grafo CSR, usando o IndexedMinHeap (DECREASE-KEY).
+     * Nenhuma memória é alocada: distâncias, predecessores e heap são os do espaço.
+     * Como o espaço é reiniciado por época, o custo depende só dos vértices
+     * tocados pela busca, e não de V (importante para consultas curtas).
+     *
+     * @param g       O grafo.
+     * @param origem  Índice do vértice de origem.
+     * @param destino Índice do vértice de destino, ou -1 para calcular a árvore completa.
+     * @param espaco  O espaço de busca (um por thread).
+     * @return O resultado, válido até a próxima consulta com o mesmo espaço.
+     *         Complexidade: O((T + A_T) log T), onde T são os vértices tocados
+     *         e A_T as arestas que saem dos vértices extraídos.
+     */
+    public ResultadoCaminhos executar(GrafoCSR g, int origem, int destino, EspacoDeBusca espaco) {
+        espaco.reiniciar(origem);
+        IndexedMinHeap pq = espaco.heap;
+        pq.insert(origem, 0);
+
+        while (!pq.isEmpty()) {
+            int u = pq.extractMin();
+            if (u == destino) {
+                break;
+            }
+            long du = espaco.distancia(u);
+            // Os vizinhos de u estão contíguos em memória: varredura sequencial.
+            for (int i = g.inicio(u), fim = g.fim(u); i < fim; i++) {
+                int v = g.destino(i);
+                long nova = du + g.peso(i);
+                if (nova < espaco.distancia(v)) {
+                    espaco.atualizar(v, nova, u);
+                    pq.insertOrDecreaseKey(v, nova);
+                }
+            }
+        }
+        return espaco.resultado;
+    }
+
+    /**
+     * Executa o Dijkstra até que todos os alvos tenham sido extraídos do heap
+     * (ou a componente da origem acabe). Serve para responder de uma vez várias
+     * consultas que partem da mesma origem.
+     *
+     * @param g      O grafo.
+     * @param origem Índice do vértice de origem.
+     * @param alvos  Índices dos vértices de destino, em ordem crescente e sem repetições.
+     * @param espaco O espaço de busca (um por thread).
+     * @return O resultado, válido até a próxima consulta com o mesmo espaço.
+     *         Complexidade: O((T + A_T) log T), com T até o último alvo fixado.
+     */
+    public ResultadoCaminhos executar(GrafoCSR g, int origem, int[] alvos, EspacoDeBusca espaco) {
+        espaco.reiniciar(origem);
+        IndexedMinHeap pq = espaco.heap;
+        pq.insert(origem, 0);
+        int restantes = alvos.length;
+
+        while (!pq.isEmpty()) {
+            int u = pq.extractMin();
+            if (Arrays.binarySearch(alvos, u) >= 0 && --restantes == 0) {
+                break;
+            }
+            long du = espaco.distancia(u);
+            for (int i = g.inicio(u), fim = g.fim(u); i < fim; i++) {
+                int v = g.destino(i);
+                long nova = du + g.peso(i);
+                if (nova < espaco.distancia(v)) {
+                    espaco.atualizar(v, nova, u);
+                    pq.insertOrDecreaseKey(v, nova);
+                }
+            }
+        }
+        return espaco.resultado;
+    }
+
+    /**
+     * Executa o Dijkstra e copia as distâncias e predecessores para os vetores recebidos.
+     *
+     * @param distancia   Saída: distancia[v] (INFINITO se v não foi alcançado).
+     * @param predecessor Saída: predecessor[v] (-1 se não tem).
+     *                    Complexidade: O((V + A) log V).
+     */
+    public void executar(GrafoCSR g, int origem, int destino, long[] distancia, int[] predecessor) {
+        ResultadoCaminhos resultado = executar(g, origem, destino);
+        for (int v = 0; v < g.quantidadeVertices(); v++) {
+            distancia[v] = resultado.distancia(v);
+            predecessor[v] = resultado.predecessor(v);
+        }
+    }
+
+    public static void main(String[] args) {
+        String[] nomes = { "s", "t", "x", "y", "z" };
+        GrafoCSR g = new GrafoCSR.Construtor(nomes.length)
+                .adicionarAresta(0, 1, 10)
+                .adicionarAresta(0, 3, 5)
+                .adicionarAresta(1, 2, 1)
+                .adicionarAresta(1, 3, 2)
+                .adicionarAresta(2, 4, 4)
+                .adicionarAresta(3, 1, 3)
+                .adicionarAresta(3, 2, 9)
+                .adicionarAresta(3, 4, 2)
+                .adicionarAresta(4, 2, 6)
+                .construir(false);
+
+        DijkstraCSR dijkstra = new DijkstraCSR();
+        ResultadoCaminhos resultado = dijkstra.executar(g, 0, -1);
+        for (int v = 0; v < nomes.length; v++) {
+            System.out.printf("Distância de s a %s: %d\n", nomes[v], resultado.distancia(v));
+            int p = resultado.predecessor(v);
+            System.out.printf("%s\n", p != -1 ? "Predecessor de " + nomes[v] + ": " + nomes[p]
+                    : "Não tem predecessor");
+        }
+        System.out.println("Caminho s -> x: " + Arrays.toString(resultado.caminhoAte(2)));
+
+        EspacoDeBusca espaco = new EspacoDeBusca(g.quantidadeVertices());
+        dijkstra.executar(g, 3, 4, espaco);
+        System.out.println("Vértices tocados na consulta y -> z: " + espaco.verticesTocados());
+
+        // Várias threads consultando o mesmo grafo ao mesmo tempo, cada uma com o seu espaço.
+        long[] ateZ = IntStream.range(0, nomes.length).parallel()
+                .mapToLong(origem -> dijkstra.executar(g, origem, 4).distancia(4))
+                .toArray();
+        System.out.println("Distâncias de cada vértice até z (em paralelo): " + Arrays.toString(ateZ));
+    }
+}
@@ -0,0 +1,372 @@
+package dijkstra;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// =================================================================================================
+// Menores caminhos de origem única mantidos sob alterações do grafo
+// =================================================================================================
+
+/**
+ * Mantém as distâncias e a árvore de caminhos mínimos de uma origem fixa
+ * enquanto o grafo muda, recalculando só a região afetada:
+ *
+ * - Inserção de aresta ou diminuição de peso (u, v): se d(u) + w < d(v), v
+ *   melhora e a melhora se propaga com um Dijkstra que começa em v e só
+ *   visita os vértices cuja distância realmente caiu.
+ * - Aumento de peso (u, v): só importa se (u, v) é a aresta da árvore que
+ *   chega em v. Nesse caso a subárvore de v é a região afetada: cada vértice
+ *   dela recebe a melhor distância vinda de fora da subárvore (pelas arestas
+ *   de entrada) e um Dijkstra restrito à subárvore acerta o resto.
+ *
+ * O custo de cada atualização depende do tamanho da região afetada e das
+ * arestas dela, e não de V. Por isso o grafo é guardado aqui em listas de
+ * adjacência mutáveis de vetores primitivos, com as arestas de entrada
+ * também (necessárias no aumento de peso).
+ */
+public class DijkstraDinamico {
+
+    public static final long INFINITO = DijkstraCSR.INFINITO;
+
+    private final int numVertices;
+    private final int origem;
+
+    // Listas de saída e de entrada de cada vértice.
+    private final int[][] destinos;
+    private final int[][] pesos;
+    private final int[] grauSaida;
+    private final int[][] origensEntrada;
+    private final int[][] pesosEntrada;
+    private final int[] grauEntrada;
+
+    private final long[] distancia;
+    private final int[] predecessor;
+
+    private final IndexedMinHeap heap;
+    private final int[] marca; // marca[v] == epoca => v está na região afetada atual.
+    private int epoca;
+    private final int[] afetados;
+    private int numAfetados;
+
+    /**
+     * Copia o grafo e calcula a árvore de caminhos mínimos inicial.
+     *
+     * @param g      O grafo (pesos não negativos).
+     * @param origem Índice do vértice de origem.
+     *               Complexidade: O((V + A) log V).
+     */
+    public DijkstraDinamico(GrafoCSR g, int origem) {
+        if (g.pesoMinimo() < 0) {
+            throw new IllegalArgumentException("O Dijkstra não aceita pesos negativos.");
+        }
+        this.numVertices = g.quantidadeVertices();
+        this.origem = origem;
+        int n = numVertices;
+        destinos = new int[n][];
+        pesos = new int[n][];
+        grauSaida = new int[n];
+        origensEntrada = new int[n][];
+        pesosEntrada = new int[n][];
+        grauEntrada = new int[n];
+        int[] entrada = new int[n];
+        for (int e = 0; e < g.quantidadeArestas(); e++) {
+            entrada[g.destino(e)]++;
+        }
+        for (int u = 0; u < n; u++) {
+            destinos[u] = new int[Math.max(2, g.grauSaida(u))];
+            pesos[u] = new int[destinos[u].length];
+            origensEntrada[u] = new int[Math.max(2, entrada[u])];
+            pesosEntrada[u] = new int[origensEntrada[u].length];
+        }
+        for (int u = 0; u < n; u++) {
+            for (int e = g.inicio(u), fim = g.fim(u); e < fim; e++) {
+                guardarAresta(u, g.destino(e), g.peso(e));
+            }
+        }
+
+        distancia = new long[n];
+        predecessor = new int[n];
+        ResultadoCaminhos r = new DijkstraCSR().executar(g, origem, -1, new EspacoDeBusca(n));
+        for (int v = 0; v < n; v++) {
+            distancia[v] = r.distancia(v);
+            predecessor[v] = r.predecessor(v);
+        }
+        heap = new IndexedMinHeap(n, 4);
+        marca = new int[n];
+        afetados = new int[n];
+    }
+
+    public int origem() {
+        return origem;
+    }
+
+    public long distancia(int v) {
+        return distancia[v];
+    }
+
+    public int predecessor(int v) {
+        return predecessor[v];
+    }
+
+    /**
+     * Quantos vértices mudaram de distância (ou foram reavaliados, no aumento
+     * de peso) na última atualização.
+     */
+    public int verticesAfetados() {
+        return numAfetados;
+    }
+
+    /**
+     * Retorna o caminho origem -> destino (vazio se destino não é alcançável).
+     * Complexidade: O(tamanho do caminho).
+     */
+    public int[] caminhoAte(int destino) {
+        if (distancia[destino] == INFINITO) {
+            return new int[0];
+        }
+        int tamanho = 1;
+        for (int v = destino; v != origem; v = predecessor[v]) {
+            tamanho++;
+        }
+        int[] caminho = new int[tamanho];
+        for (int v = destino, i = tamanho - 1; i >= 0; v = predecessor[v], i--) {
+            caminho[i] = v;
+        }
+        return caminho;
+    }
+
+    /**
+     * Insere a aresta u -> v e propaga a melhora, se houver.
+     *
+     * @param u    Índice do vértice de origem da aresta.
+     * @param v    Índice do vértice de destino da aresta.
+     * @param peso O peso (>= 0).
+     *             Complexidade: O((R + A_R) log R), onde R são os vértices que
+     *             melhoraram e A_R as arestas que saem deles.
+     */
+    public void adicionarAresta(int u, int v, int peso) {
+        if (peso < 0) {
+            throw new IllegalArgumentException("O Dijkstra não aceita pesos negativos.");
+        }
+        guardarAresta(u, v, peso);
+        propagarMelhora(u, v, peso);
+    }
+
+    /**
+     * Altera o peso da aresta u -> v (a primeira, se houver arestas paralelas).
+     *
+     * @param u        Índice do vértice de origem da aresta.
+     * @param v        Índice do vértice de destino da aresta.
+     * @param novoPeso O novo peso (>= 0).
+     *                 Complexidade: diminuição como em adicionarAresta; aumento
+     *                 O((S + A_S) log S), onde S é a subárvore de v e A_S as
+     *                 arestas que entram e saem dela.
+     */
+    public void alterarPeso(int u, int v, int novoPeso) {
+        if (novoPeso < 0) {
+            throw new IllegalArgumentException("O Dijkstra não aceita pesos negativos.");
+        }
+        int i = indiceDe(destinos[u], grauSaida[u], v);
+        int j = indiceDe(origensEntrada[v], grauEntrada[v], u);
+        if (i < 0) {
+            throw new IllegalArgumentException("Aresta (" + u + ", " + v + ") não existe.");
+        }
+        int antigo = pesos[u][i];
+        pesos[u][i] = novoPeso;
+        pesosEntrada[v][j] = novoPeso;
+        numAfetados = 0;
+        if (novoPeso < antigo) {
+            propagarMelhora(u, v, novoPeso);
+        } else if (novoPeso > antigo && predecessor[v] == u && distancia[u] != INFINITO
+                && distancia[u] + antigo == distancia[v]) {
+            recalcularSubarvore(v);
+        }
+    }
+
+    /**
+     * Monta um GrafoCSR com o estado atual do grafo.
+     * Complexidade: O(V + A).
+     */
+    public GrafoCSR paraCSR(boolean comReverso) {
+        GrafoCSR.Construtor construtor = new GrafoCSR.Construtor(numVertices);
+        for (int u = 0; u < numVertices; u++) {
+            for (int i = 0; i < grauSaida[u]; i++) {
+                construtor.adicionarAresta(u, destinos[u][i], pesos[u][i]);
+            }
+        }
+        return construtor.construir(comReverso);
+    }
+
+    // Dijkstra a partir de v, que melhorou pela aresta (u, v). Só entram no heap
+    // vértices cuja distância caiu, então a busca fica na região afetada.
+    private void propagarMelhora(int u, int v, int peso) {
+        numAfetados = 0;
+        if (distancia[u] == INFINITO || distancia[u] + peso >= distancia[v]) {
+            return;
+        }
+        distancia[v] = distancia[u] + peso;
+        predecessor[v] = u;
+        heap.clear();
+        heap.insert(v, distancia[v]);
+        while (!heap.isEmpty()) {
+            int x = heap.extractMin();
+            numAfetados++;
+            relaxarSaida(x, false);
+        }
+    }
+
+    // Aumento de peso na aresta da árvore que chega em v: reavalia a subárvore de v.
+    private void recalcularSubarvore(int v) {
+        epoca++;
+        // 1. Coleta a subárvore de v (filhos são vizinhos de saída cujo predecessor é o pai).
+        numAfetados = 0;
+        afetados[numAfetados++] = v;
+        marca[v] = epoca;
+        for (int k = 0; k < numAfetados; k++) {
+            int x = afetados[k];
+            for (int i = 0; i < grauSaida[x]; i++) {
+                int y = destinos[x][i];
+                if (predecessor[y] == x && marca[y] != epoca) {
+                    marca[y] = epoca;
+                    afetados[numAfetados++] = y;
+                }
+            }
+        }
+
+        // 2. Cada vértice afetado recebe a melhor distância vinda de fora da subárvore.
+        heap.clear();
+        for (int k = 0; k < numAfetados; k++) {
+            int x = afetados[k];
+            distancia[x] = INFINITO;
+            predecessor[x] = -1;
+            for (int i = 0; i < grauEntrada[x]; i++) {
+                int y = origensEntrada[x][i];
+                if (marca[y] != epoca && distancia[y] != INFINITO && distancia[y] + pesosEntrada[x][i] < distancia[x]) {
+                    distancia[x] = distancia[y] + pesosEntrada[x][i];
+                    predecessor[x] = y;
+                }
+            }
+            if (distancia[x] != INFINITO) {
+                heap.insert(x, distancia[x]);
+            }
+        }
+
+        // 3. Dijkstra restrito à subárvore: fora dela nenhuma distância pode mudar.
+        while (!heap.isEmpty()) {
+            relaxarSaida(heap.extractMin(), true);
+        }
+    }
+
+    private void relaxarSaida(int x, boolean soAfetados) {
+        long dx = distancia[x];
+        for (int i = 0; i < grauSaida[x]; i++) {
+            int y = destinos[x][i];
+            if (soAfetados && marca[y] != epoca) {
+                continue;
+            }
+            long nova = dx + pesos[x][i];
+            if (nova < distancia[y]) {
+                distancia[y] = nova;
+                predecessor[y] = x;
+                heap.insertOrDecreaseKey(y, nova);
+            }
+        }
+    }
+
+    private void guardarAresta(int u, int v, int peso) {
+        if (grauSaida[u] == destinos[u].length) {
+            destinos[u] = Arrays.copyOf(destinos[u], grauSaida[u] * 2);
+            pesos[u] = Arrays.copyOf(pesos[u], grauSaida[u] * 2);
+        }
+        destinos[u][grauSaida[u]] = v;
+        pesos[u][grauSaida[u]++] = peso;
+        if (grauEntrada[v] == origensEntrada[v].length) {
+            origensEntrada[v] = Arrays.copyOf(origensEntrada[v], grauEntrada[v] * 2);
+            pesosEntrada[v] = Arrays.copyOf(pesosEntrada[v], grauEntrada[v] * 2);
+        }
+        origensEntrada[v][grauEntrada[v]] = u;
+        pesosEntrada[v][grauEntrada[v]++] = peso;
+    }
+
+    private static int indiceDe(int[] vetor, int tamanho, int valor) {
+        for (int i = 0; i < tamanho; i++) {
+            if (vetor[i] == valor) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static void main(String[] args) {
+        // Grafo do Dijkstra.main.
+        String[] nomes = { "s", "t", "x", "y", "z" };
+        GrafoCSR pequeno = new GrafoCSR.Construtor(nomes.length)
+                .adicionarAresta(0, 1, 10)
+                .adicionarAresta(0, 3, 5)
+                .adicionarAresta(1, 2, 1)
+                .adicionarAresta(1, 3, 2)
+                .adicionarAresta(2, 4, 4)
+                .adicionarAresta(3, 1, 3)
+                .adicionarAresta(3, 2, 9)
+                .adicionarAresta(3, 4, 2)
+                .adicionarAresta(4, 2, 6)
+                .construir(false);
+        DijkstraDinamico dinamico = new DijkstraDinamico(pequeno, 0);
+        System.out.println("Distância s -> x: " + dinamico.distancia(2) + " " + Arrays.toString(dinamico.caminhoAte(2)));
+        dinamico.adicionarAresta(3, 2, 1);
+        System.out.printf("Nova aresta y -> x (1): %d %s, %d vértice(s) afetado(s)\n", dinamico.distancia(2),
+                Arrays.toString(dinamico.caminhoAte(2)), dinamico.verticesAfetados());
+        dinamico.alterarPeso(0, 3, 20);
+        System.out.printf("Peso de s -> y sobe para 20: %d %s, %d vértice(s) afetado(s)\n", dinamico.distancia(2),
+                Arrays.toString(dinamico.caminhoAte(2)), dinamico.verticesAfetados());
+
+        // Grade com atualizações de tráfego aleatórias, conferida contra o recálculo completo.
+        int lado = 300;
+        int numVertices = lado * lado;
+        Random aleatorio = new Random(3);
+        GrafoCSR.Construtor construtor = new GrafoCSR.Construtor(numVertices, 4 * numVertices);
+        int[][] arestas = new int[4 * numVertices][];
+        int numArestas = 0;
+        for (int linha = 0; linha < lado; linha++) {
+            for (int coluna = 0; coluna < lado; coluna++) {
+                int u = linha * lado + coluna;
+                int[] vizinhos = { coluna + 1 < lado ? u + 1 : -1, linha + 1 < lado ? u + lado : -1 };
+                for (int v : vizinhos) {
+                    if (v != -1) {
+                        construtor.adicionarAresta(u, v, 10 + aleatorio.nextInt(90));
+                        construtor.adicionarAresta(v, u, 10 + aleatorio.nextInt(90));
+                        arestas[numArestas++] = new int[] { u, v };
+                        arestas[numArestas++] = new int[] { v, u };
+                    }
+                }
+            }
+        }
+        GrafoCSR g = construtor.construir(false);
+        dinamico = new DijkstraDinamico(g, 0);
+        DijkstraCSR dijkstra = new DijkstraCSR();
+        EspacoDeBusca espaco = new EspacoDeBusca(numVertices);
+
+        int numAtualizacoes = 2000;
+        long afetadosTotal = 0;
+        long inicio = System.nanoTime();
+        for (int k = 0; k < numAtualizacoes; k++) {
+            int[] a = arestas[aleatorio.nextInt(numArestas)];
+            dinamico.alterarPeso(a[0], a[1], 10 + aleatorio.nextInt(90));
+            afetadosTotal += dinamico.verticesAfetados();
+        }
+        double tempoIncremental = (System.nanoTime() - inicio) / 1e6;
+
+        GrafoCSR atual = dinamico.paraCSR(false);
+        inicio = System.nanoTime();
+        ResultadoCaminhos r = dijkstra.executar(atual, 0, -1, espaco);
+        double tempoCompleto = (System.nanoTime() - inicio) / 1e6;
+        for (int v = 0; v < numVertices; v++) {
+            if (r.distancia(v) != dinamico.distancia(v)) {
+                throw new IllegalStateException("Distância incremental divergiu no vértice " + v);
+            }
+        }
+        System.out.printf("\n%d atualizações de peso: %.3f ms cada, %.0f vértices afetados em média"
+                + " (recálculo completo: %.1f ms)\n", numAtualizacoes, tempoIncremental / numAtualizacoes,
+                (double) afetadosTotal / numAtualizacoes, tempoCompleto);
+    }
+}
@@ -11,6 +11,7 @@ class Grafo {
     private final Vertice[] vertices;
     private List<List<Aresta>> adjacencias;
     private Map<String, Integer> nomeParaIndice; // Mapeia nomes de região para índices
+    private long versao; // Muda a cada alteração; usada pelo CacheCaminhos para se invalidar.
 
     Grafo(String[] nomesVertices) {
         this.adjacencias = new ArrayList<>();
@@ -27,6 +28,11 @@ class Grafo {
     public void adicionarAresta(int origem, int destino, int peso) {
         // Grafos direcionados para Dijkstra, então apenas de origem para destino
         adjacencias.get(origem).add(new Aresta(destino, peso));
+        versao++;
+    }
+
+    public long getVersao() {
+        return versao;
     }
 
     public List<Aresta> vizinhos(int u) {
@@ -41,6 +47,33 @@ class Grafo {
         return vertices.length;
     }
 
+    // Converte a lista de adjacências para o formato CSR (vetores primitivos),
+    // repetindo as mesmas chamadas de adicionarAresta.
+    public GrafoCSR paraCSR(boolean comReverso) {
+        GrafoCSR.Construtor construtor = new GrafoCSR.Construtor(quantidadeVertices());
+        for (int u = 0; u < quantidadeVertices(); u++) {
+            for (Aresta a : adjacencias.get(u)) {
+                construtor.adicionarAresta(u, a.destino, a.peso);
+            }
+        }
+        return construtor.construir(comReverso);
+    }
+
+    // Cópia independente: mesmos nomes e arestas, versão nova, sem o estado das buscas.
+    public Grafo copiar() {
+        String[] nomes = new String[vertices.length];
+        for (int i = 0; i < vertices.length; i++) {
+            nomes[i] = vertices[i].nome;
+        }
+        Grafo copia = new Grafo(nomes);
+        for (int u = 0; u < vertices.length; u++) {
+            for (Aresta a : adjacencias.get(u)) {
+                copia.adicionarAresta(u, a.destino, a.peso);
+            }
+        }
+        return copia;
+    }
+
     public Integer getIndice(String nome) {
         return nomeParaIndice.get(nome);
     }
@@ -90,6 +123,12 @@ class MinPriorityQueue {
     // precisaríamos de um mapeamento de Vertice para seu índice no heap.
     // map<Integer, Integer> verticeIndiceNoHeap;
     // Para este problema e simplificação, vamos usar a abordagem de re-inserir.
+    // (A versão com mapeamento de índice e DECREASE-KEY está em IndexedMinHeap.)
+
+    // Contadores para comparar com o IndexedMinHeap.
+    private long comparacoes;
+    private long trocas;
+    private int tamanhoMaximo;
 
     public MinPriorityQueue() {
         this.heap = new ArrayList<>();
@@ -111,6 +150,9 @@ class MinPriorityQueue {
         // A abordagem mais comum para simplificar é permitir duplicatas e
         // verificar se o vértice já foi extraído ao retirá-lo.
         heap.add(v);
+        if (heap.size() > tamanhoMaximo) {
+            tamanhoMaximo = heap.size();
+        }
         heapifyUp(heap.size() - 1);
         // verticeIndiceNoHeap.put(v.indice, heap.size() - 1);
     }
@@ -131,7 +173,7 @@ class MinPriorityQueue {
 
     // heapifyUp para manter a propriedade de Min-Heap após uma inserção
     private void heapifyUp(int i) {
-        while (i > 0 && heap.get(i).compareTo(heap.get(parent(i))) < 0) {
+        while (i > 0 && compare(i, parent(i)) < 0) {
             swap(i, parent(i));
             i = parent(i);
         }
@@ -143,10 +185,10 @@ class MinPriorityQueue {
         int rightChild = right(i);
         int smallest = i;
 
-        if (leftChild < heap.size() && heap.get(leftChild).compareTo(heap.get(smallest)) < 0) {
+        if (leftChild < heap.size() && compare(leftChild, smallest) < 0) {
             smallest = leftChild;
         }
-        if (rightChild < heap.size() && heap.get(rightChild).compareTo(heap.get(smallest)) < 0) {
+        if (rightChild < heap.size() && compare(rightChild, smallest) < 0) {
             smallest = rightChild;
         }
 
@@ -169,7 +211,25 @@ class MinPriorityQueue {
         return 2 * i + 2;
     }
 
+    public long getComparacoes() {
+        return comparacoes;
+    }
+
+    public long getTrocas() {
+        return trocas;
+    }
+
+    public int getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    private int compare(int i, int j) {
+        comparacoes++;
+        return heap.get(i).compareTo(heap.get(j));
+    }
+
     private void swap(int i, int j) {
+        trocas++;
         Grafo.Vertice temp = heap.get(i);
         heap.set(i, heap.get(j));
         heap.set(j, temp);
@@ -179,12 +239,181 @@ class MinPriorityQueue {
     }
 }
 
+// =================================================================================================
+// Cache LRU de caminhos mínimos origem -> destino
+// =================================================================================================
+
+/**
+ * Guarda os últimos caminhos calculados, indexados pelo par (origem, destino)
+ * empacotado num long. Quando enche, descarta o par usado há mais tempo (LRU),
+ * usando o LinkedHashMap em ordem de acesso.
+ *
+ * O cache anota a versão do Grafo (que muda a cada adicionarAresta) e se
+ * esvazia sozinho na primeira consulta depois de uma alteração. Quem guarda
+ * um caminho informa a versão em que ele foi calculado; se o grafo mudou no
+ * meio, o caminho é descartado em vez de guardado. Assim o cache nunca
+ * devolve um caminho de uma versão antiga do grafo.
+ *
+ * Uso por uma thread só: como o Grafo, o cache não é sincronizado, e as
+ * buscas do DijkstraManualHeap escrevem distancia/predecessor nos próprios
+ * vértices do grafo.
+ */
+class CacheCaminhos {
+
+    /**
+     * Caminho guardado: os vértices da origem ao destino e a distância acumulada
+     * até cada um deles. Vetores vazios indicam que não há caminho.
+     */
+    static final class Entrada {
+        final int[] caminho;
+        final int[] distancias;
+
+        Entrada(int[] caminho, int[] distancias) {
+            this.caminho = caminho;
+            this.distancias = distancias;
+        }
+
+        boolean alcancado() {
+            return caminho.length > 0;
+        }
+
+        int distanciaTotal() {
+            return distancias.length == 0 ? Integer.MAX_VALUE : distancias[distancias.length - 1];
+        }
+    }
+
+    private final int capacidade;
+    private final LinkedHashMap<Long, Entrada> entradas;
+    private Grafo grafo;       // Grafo a que as entradas se referem.
+    private long versaoGrafo;  // Versão do grafo quando as entradas foram calculadas.
+
+    private long acertos;
+    private long faltas;
+    private long descartes;
+    private long invalidacoes;
+
+    /**
+     * @param capacidade Número máximo de pares guardados (>= 1).
+     */
+    public CacheCaminhos(int capacidade) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("A capacidade do cache deve ser pelo menos 1.");
+        }
+        this.capacidade = capacidade;
+        // accessOrder = true: cada get move a entrada para o fim da lista.
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entrada> maisAntiga) {
+                if (size() > CacheCaminhos.this.capacidade) {
+                    descartes++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Procura o caminho origem -> destino calculado na versão atual de g.
+     *
+     * @return A entrada, ou null se não está no cache.
+     *         Complexidade: O(1).
+     */
+    Entrada buscar(Grafo g, int origem, int destino) {
+        validar(g);
+        Entrada e = entradas.get(chave(origem, destino));
+        if (e == null) {
+            faltas++;
+        } else {
+            acertos++;
+        }
+        return e;
+    }
+
+    /**
+     * Guarda o caminho origem -> destino calculado na versão 'versao' de g.
+     * Se g já não está nessa versão, o caminho está desatualizado e é descartado.
+     * Complexidade: O(1).
+     */
+    void guardar(Grafo g, long versao, int origem, int destino, Entrada e) {
+        if (g.getVersao() != versao) {
+            return;
+        }
+        validar(g);
+        entradas.put(chave(origem, destino), e);
+    }
+
+    /**
+     * Esvazia o cache e zera todos os contadores.
+     * Complexidade: O(tamanho).
+     */
+    public void limpar() {
+        entradas.clear();
+        zerarContadores();
+    }
+
+    public int tamanho() {
+        return entradas.size();
+    }
+
+    public int capacidade() {
+        return capacidade;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public long getFaltas() {
+        return faltas;
+    }
+
+    public long getDescartes() {
+        return descartes;
+    }
+
+    public long getInvalidacoes() {
+        return invalidacoes;
+    }
+
+    public void zerarContadores() {
+        acertos = 0;
+        faltas = 0;
+        descartes = 0;
+        invalidacoes = 0;
+    }
+
+    // Descarta tudo se o grafo mudou (ou é outro grafo) desde que as entradas foram guardadas.
+    private void validar(Grafo g) {
+        if (g != grafo || g.getVersao() != versaoGrafo) {
+            if (!entradas.isEmpty()) {
+                invalidacoes++;
+                entradas.clear();
+            }
+            grafo = g;
+            versaoGrafo = g.getVersao();
+        }
+    }
+
+    private static long chave(int origem, int destino) {
+        return ((long) origem << 32) | (destino & 0xFFFFFFFFL);
+    }
+}
+
 // =================================================================================================
 // Algoritmo de Dijkstra (com Min-Heap Manual)
 // =================================================================================================
 public class DijkstraManualHeap {
 
     public void executar(Grafo g, int origemIndice, int destinoIndice) {
+        buscarComReinsercao(g, origemIndice, destinoIndice);
+        exibirCaminhoMinimo(g, origemIndice, destinoIndice);
+    }
+
+    // A busca de executar, sem a exibição; retorna a fila para as estatísticas.
+    private MinPriorityQueue buscarComReinsercao(Grafo g, int origemIndice, int destinoIndice) {
         inicializarFonteUnica(g, origemIndice);
 
         // Usando a fila de prioridade manual
@@ -221,7 +450,157 @@ public class DijkstraManualHeap {
             }
         }
 
+        return pq;
+    }
+
+    /**
+     * Dijkstra com DECREASE-KEY verdadeiro (IndexedMinHeap).
+     * Só a origem entra no heap no início; os demais vértices entram quando são
+     * alcançados pela primeira vez e, depois disso, apenas têm a chave diminuída.
+     * Não há entradas obsoletas, então o vetor 'visitado' não é necessário:
+     * um vértice extraído nunca volta ao heap porque sua distância já é mínima.
+     *
+     * @param g             O grafo.
+     * @param origemIndice  Índice do vértice de origem.
+     * @param destinoIndice Índice do vértice de destino.
+     * @param aridade       Aridade do heap (2 = binário).
+     *                      Complexidade: O((V + A) log_d V), com o heap limitado a V elementos.
+     */
+    public void executarComDecreaseKey(Grafo g, int origemIndice, int destinoIndice, int aridade) {
+        IndexedMinHeap pq = buscarComDecreaseKey(g, origemIndice, destinoIndice, aridade);
+        exibirCaminhoMinimo(g, origemIndice, destinoIndice);
+        exibirEstatisticasHeap(pq.getComparacoes(), pq.getTrocas(), pq.getTamanhoMaximo());
+    }
+
+    // A busca de executarComDecreaseKey, sem a exibição; retorna o heap para as estatísticas.
+    private IndexedMinHeap buscarComDecreaseKey(Grafo g, int origemIndice, int destinoIndice, int aridade) {
+        inicializarFonteUnica(g, origemIndice);
+
+        IndexedMinHeap pq = new IndexedMinHeap(g.quantidadeVertices(), aridade);
+        pq.insert(origemIndice, 0);
+
+        while (!pq.isEmpty()) {
+            Grafo.Vertice u = g.getVertices()[pq.extractMin()];
+
+            // Se chegamos ao destino, podemos parar
+            if (u.indice == destinoIndice) {
+                break;
+            }
+
+            for (Grafo.Aresta aresta : g.vizinhos(u.indice)) {
+                Grafo.Vertice v = g.getVertices()[aresta.destino];
+                // Comparação em long para não estourar quando a distância é grande.
+                long novaDistancia = (long) u.distancia + aresta.peso;
+                if (novaDistancia < v.distancia) {
+                    v.distancia = (int) novaDistancia;
+                    v.predecessor = u;
+                    pq.insertOrDecreaseKey(v.indice, novaDistancia); // DECREASE-KEY de verdade
+                }
+            }
+        }
+        return pq;
+    }
+
+    /**
+     * Consulta origem-destino passando antes pelo cache. Num acerto, o caminho
+     * guardado é copiado para os vértices (distancia/predecessor, só os do
+     * caminho) e nenhum heap é criado. Numa falta, roda a busca com
+     * DECREASE-KEY (heap 4-ário) e guarda o caminho encontrado. Como as outras
+     * consultas, escreve nos vértices de g: não deve ser chamado por várias
+     * threads sobre o mesmo grafo.
+     *
+     * @param g             O grafo.
+     * @param cache         O cache (invalida-se sozinho se g for alterado).
+     * @param origemIndice  Índice do vértice de origem.
+     * @param destinoIndice Índice do vértice de destino.
+     *                      Complexidade: O(tamanho do caminho) num acerto;
+     *                      O((V + A) log V) numa falta.
+     */
+    public void executarComCache(Grafo g, CacheCaminhos cache, int origemIndice, int destinoIndice) {
+        long versao = g.getVersao(); // Versão em que o caminho será calculado.
+        CacheCaminhos.Entrada e = cache.buscar(g, origemIndice, destinoIndice);
+        if (e == null) {
+            buscarComDecreaseKey(g, origemIndice, destinoIndice, 4);
+            e = extrairCaminho(g, destinoIndice);
+            cache.guardar(g, versao, origemIndice, destinoIndice, e);
+        } else {
+            aplicarCaminho(g, destinoIndice, e);
+        }
+        exibirCaminhoMinimo(g, origemIndice, destinoIndice);
+    }
+
+    // Lê o caminho até o destino seguindo os predecessores deixados pela busca.
+    private CacheCaminhos.Entrada extrairCaminho(Grafo g, int destinoIndice) {
+        Grafo.Vertice destino = g.getVertices()[destinoIndice];
+        if (destino.distancia == Integer.MAX_VALUE) {
+            return new CacheCaminhos.Entrada(new int[0], new int[0]);
+        }
+        int tamanho = 0;
+        for (Grafo.Vertice v = destino; v != null; v = v.predecessor) {
+            tamanho++;
+        }
+        int[] caminho = new int[tamanho];
+        int[] distancias = new int[tamanho];
+        int i = tamanho - 1;
+        for (Grafo.Vertice v = destino; v != null; v = v.predecessor, i--) {
+            caminho[i] = v.indice;
+            distancias[i] = v.distancia;
+        }
+        return new CacheCaminhos.Entrada(caminho, distancias);
+    }
+
+    // Escreve distancia/predecessor só nos vértices do caminho guardado, o
+    // suficiente para exibirCaminhoMinimo.
+    private void aplicarCaminho(Grafo g, int destinoIndice, CacheCaminhos.Entrada e) {
+        Grafo.Vertice[] vertices = g.getVertices();
+        if (!e.alcancado()) {
+            vertices[destinoIndice].distancia = Integer.MAX_VALUE;
+            vertices[destinoIndice].predecessor = null;
+            return;
+        }
+        Grafo.Vertice anterior = null;
+        for (int i = 0; i < e.caminho.length; i++) {
+            Grafo.Vertice v = vertices[e.caminho[i]];
+            v.distancia = e.distancias[i];
+            v.predecessor = anterior;
+            anterior = v;
+        }
+    }
+
+    /**
+     * Consulta origem-destino com o Dijkstra bidirecional sobre a versão CSR do grafo.
+     * Apenas os vértices do caminho encontrado recebem distancia/predecessor,
+     * o suficiente para exibirCaminhoMinimo mostrar a mesma saída das outras versões.
+     *
+     * @param g             O grafo (usado para nomes e exibição).
+     * @param csr           O mesmo grafo em CSR, com reverso (g.paraCSR(true)).
+     * @param origemIndice  Índice do vértice de origem.
+     * @param destinoIndice Índice do vértice de destino.
+     */
+    public void executarBidirecional(Grafo g, GrafoCSR csr, int origemIndice, int destinoIndice) {
+        DijkstraBidirecional.Resultado r = new DijkstraBidirecional().executar(csr, origemIndice, destinoIndice);
+        Grafo.Vertice[] vertices = g.getVertices();
+        if (r.caminho.length == 0) {
+            vertices[destinoIndice].distancia = Integer.MAX_VALUE;
+            vertices[destinoIndice].predecessor = null;
+        } else {
+            Grafo.Vertice anterior = null;
+            int distancia = 0;
+            for (int v : r.caminho) {
+                if (anterior != null) {
+                    distancia += csr.pesoAresta(anterior.indice, v);
+                }
+                vertices[v].distancia = distancia;
+                vertices[v].predecessor = anterior;
+                anterior = vertices[v];
+            }
+        }
         exibirCaminhoMinimo(g, origemIndice, destinoIndice);
+        System.out.printf("Vértices fixados (frente + trás): %d\n", r.verticesFixados);
+    }
+
+    private void exibirEstatisticasHeap(long comparacoes, long trocas, int tamanhoMaximo) {
+        System.out.printf("Heap: %d comparações, %d trocas, tamanho máximo %d\n", comparacoes, trocas, tamanhoMaximo);
     }
 
     private void inicializarFonteUnica(Grafo g, int s) {
@@ -331,6 +710,26 @@ public class DijkstraManualHeap {
         }
 
         DijkstraManualHeap dijkstra = new DijkstraManualHeap();
-        dijkstra.executar(g, origemIndice, destinoIndice);
+        System.out.println("--- Heap com re-inserção ---");
+        MinPriorityQueue fila = dijkstra.buscarComReinsercao(g, origemIndice, destinoIndice);
+        dijkstra.exibirCaminhoMinimo(g, origemIndice, destinoIndice);
+        dijkstra.exibirEstatisticasHeap(fila.getComparacoes(), fila.getTrocas(), fila.getTamanhoMaximo());
+        System.out.println("--- Heap indexado (DECREASE-KEY, 4-ário) ---");
+        dijkstra.executarComDecreaseKey(g, origemIndice, destinoIndice, 4);
+        System.out.println("--- Dijkstra bidirecional (GrafoCSR) ---");
+        dijkstra.executarBidirecional(g, g.paraCSR(true), origemIndice, destinoIndice);
+
+        System.out.println("--- Com cache LRU (a 2ª consulta não usa heap) ---");
+        CacheCaminhos cache = new CacheCaminhos(128);
+        dijkstra.executarComCache(g, cache, origemIndice, destinoIndice);
+        dijkstra.executarComCache(g, cache, origemIndice, destinoIndice);
+        // Invalidação, numa cópia para não alterar o grafo da entrada: uma nova
+        // aresta direta de custo 1 esvazia o cache e a busca é refeita.
+        Grafo alterado = g.copiar();
+        alterado.adicionarAresta(origemIndice, destinoIndice, 1);
+        System.out.println("Cópia com a aresta " + nomeOrigem + " -> " + nomeDestino + " de custo 1:");
+        dijkstra.executarComCache(alterado, cache, origemIndice, destinoIndice);
+        System.out.printf("Cache: %d acertos, %d faltas, %d invalidações\n", cache.getAcertos(), cache.getFaltas(),
+                cache.getInvalidacoes());
     }
 }
\ No newline at end of file
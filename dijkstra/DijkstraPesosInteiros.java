@@ -0,0 +1,463 @@
+package dijkstra;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// =================================================================================================
+// Dijkstra com filas monótonas para pesos inteiros pequenos (0-1 BFS, Dial e Radix Heap)
+// =================================================================================================
+
+/**
+ * No Dijkstra as chaves extraídas nunca diminuem (a fila é "monótona"). Quando
+ * os pesos são inteiros não negativos e o maior peso C é conhecido, dá para
+ * trocar o heap de comparações por estruturas que exploram isso:
+ *
+ * - ZERO_UM: pesos 0 ou 1. Um deque basta: peso 0 entra na frente, peso 1 atrás.
+ *            O(V + A).
+ * - DIAL:    C + 1 baldes circulares, um por distância módulo (C + 1). Como todas
+ *            as chaves vivas estão em [d, d + C], os baldes nunca se misturam.
+ *            O(V * C + A) no pior caso; ótimo para C pequeno.
+ * - RADIX:   65 baldes pelo bit mais alto em que a chave difere da última
+ *            extraída. Cada entrada desce de balde no máximo 64 vezes.
+ *            O(A + V log C).
+ *
+ * As três usam remoção preguiçosa: relaxar v insere uma nova entrada (v, d) e
+ * entradas cuja chave não é mais a distância atual de v são descartadas ao sair.
+ *
+ * Como o EspacoDeBusca, as filas são alocadas uma vez por thread e reusadas:
+ * cada consulta só esvazia o que a anterior deixou, sem custo O(V + C) fixo.
+ */
+public class DijkstraPesosInteiros {
+
+    private static final ThreadLocal<Filas> FILAS_DA_THREAD = ThreadLocal.withInitial(Filas::new);
+
+    public enum Fila {
+        ZERO_UM,
+        DIAL,
+        RADIX
+    }
+
+    /**
+     * Escolhe a fila mais adequada para o maior peso do grafo.
+     */
+    public static Fila escolherFila(int pesoMaximo) {
+        if (pesoMaximo <= 1) {
+            return Fila.ZERO_UM;
+        }
+        // Dial percorre até C + 1 baldes vazios entre distâncias seguidas;
+        // para C grande o radix heap compensa.
+        return pesoMaximo <= 1 << 12 ? Fila.DIAL : Fila.RADIX;
+    }
+
+    /**
+     * Executa com a fila escolhida a partir do maior peso do grafo, usando o
+     * espaço de busca da thread atual.
+     */
+    public ResultadoCaminhos executar(GrafoCSR g, int origem, int destino) {
+        return executar(g, origem, destino, escolherFila(g.pesoMaximo()),
+                EspacoDeBusca.daThread(g.quantidadeVertices()));
+    }
+
+    /**
+     * Executa o Dijkstra com uma fila monótona.
+     *
+     * @param g       O grafo (pesos inteiros não negativos).
+     * @param origem  Índice do vértice de origem.
+     * @param destino Índice do vértice de destino, ou -1 para calcular a árvore completa.
+     * @param fila    Qual fila usar.
+     * @param espaco  O espaço de busca (um por thread).
+     * @return O resultado, válido até a próxima consulta com o mesmo espaço.
+     */
+    public ResultadoCaminhos executar(GrafoCSR g, int origem, int destino, Fila fila, EspacoDeBusca espaco) {
+        if (g.pesoMinimo() < 0) {
+            throw new IllegalArgumentException("O Dijkstra não aceita pesos negativos.");
+        }
+        if (fila == Fila.ZERO_UM && g.pesoMaximo() > 1) {
+            throw new IllegalArgumentException("A 0-1 BFS só aceita pesos 0 e 1.");
+        }
+        espaco.reiniciar(origem);
+        switch (fila) {
+            case ZERO_UM:
+                zeroUm(g, origem, destino, espaco);
+                break;
+            case DIAL:
+                dial(g, origem, destino, espaco);
+                break;
+            default:
+                radix(g, origem, destino, espaco);
+                break;
+        }
+        return espaco.resultado;
+    }
+
+    // =============================================================================================
+    // 0-1 BFS
+    // =============================================================================================
+
+    private void zeroUm(GrafoCSR g, int origem, int destino, EspacoDeBusca espaco) {
+        Deque deque = FILAS_DA_THREAD.get().deque;
+        deque.limpar();
+        deque.adicionarFrente(origem, 0);
+        while (!deque.isEmpty()) {
+            long du = deque.chaveFrente();
+            int u = deque.removerFrente();
+            if (du != espaco.distancia(u)) {
+                continue; // Entrada obsoleta.
+            }
+            if (u == destino) {
+                break;
+            }
+            for (int i = g.inicio(u), fim = g.fim(u); i < fim; i++) {
+                int v = g.destino(i);
+                int w = g.peso(i);
+                long nova = du + w;
+                if (nova < espaco.distancia(v)) {
+                    espaco.atualizar(v, nova, u);
+                    if (w == 0) {
+                        deque.adicionarFrente(v, nova);
+                    } else {
+                        deque.adicionarTras(v, nova);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Deque circular de pares (vértice, chave) que cresce quando enche.
+     */
+    private static final class Deque {
+        private int[] vertices;
+        private long[] chaves;
+        private int inicio;
+        private int tamanho;
+
+        Deque(int capacidade) {
+            vertices = new int[capacidade];
+            chaves = new long[capacidade];
+        }
+
+        boolean isEmpty() {
+            return tamanho == 0;
+        }
+
+        void limpar() {
+            inicio = 0;
+            tamanho = 0;
+        }
+
+        void adicionarFrente(int v, long k) {
+            garantirEspaco();
+            inicio = (inicio - 1 + vertices.length) % vertices.length;
+            vertices[inicio] = v;
+            chaves[inicio] = k;
+            tamanho++;
+        }
+
+        void adicionarTras(int v, long k) {
+            garantirEspaco();
+            int pos = (inicio + tamanho) % vertices.length;
+            vertices[pos] = v;
+            chaves[pos] = k;
+            tamanho++;
+        }
+
+        long chaveFrente() {
+            return chaves[inicio];
+        }
+
+        int removerFrente() {
+            int v = vertices[inicio];
+            inicio = (inicio + 1) % vertices.length;
+            tamanho--;
+            return v;
+        }
+
+        private void garantirEspaco() {
+            if (tamanho < vertices.length) {
+                return;
+            }
+            int[] novosVertices = new int[vertices.length * 2];
+            long[] novasChaves = new long[vertices.length * 2];
+            for (int i = 0; i < tamanho; i++) {
+                novosVertices[i] = vertices[(inicio + i) % vertices.length];
+                novasChaves[i] = chaves[(inicio + i) % vertices.length];
+            }
+            vertices = novosVertices;
+            chaves = novasChaves;
+            inicio = 0;
+        }
+    }
+
+    // =============================================================================================
+    // Dial (baldes circulares)
+    // =============================================================================================
+
+    private void dial(GrafoCSR g, int origem, int destino, EspacoDeBusca espaco) {
+        int numBaldes = g.pesoMaximo() + 1;
+        Filas filas = FILAS_DA_THREAD.get();
+        filas.limparBaldes();
+        ListaInt[] baldes = filas.baldes(numBaldes);
+        filas.adicionarNoBalde(0, origem);
+        long entradas = 1; // Entradas ainda guardadas em algum balde (inclusive obsoletas).
+
+        for (long d = 0; entradas > 0; d++) {
+            ListaInt balde = baldes[(int) (d % numBaldes)];
+            if (balde == null) {
+                continue;
+            }
+            // O balde atual só tem vértices com distância d (ou entradas obsoletas).
+            // Arestas de peso 0 inserem no próprio balde, por isso o laço é "enquanto".
+            while (!balde.isEmpty()) {
+                int u = balde.removerUltimo();
+                entradas--;
+                if (espaco.distancia(u) != d) {
+                    continue; // Entrada obsoleta.
+                }
+                if (u == destino) {
+                    return;
+                }
+                for (int i = g.inicio(u), fim = g.fim(u); i < fim; i++) {
+                    int v = g.destino(i);
+                    long nova = d + g.peso(i);
+                    if (nova < espaco.distancia(v)) {
+                        espaco.atualizar(v, nova, u);
+                        filas.adicionarNoBalde((int) (nova % numBaldes), v);
+                        entradas++;
+                    }
+                }
+            }
+        }
+    }
+
+    // =============================================================================================
+    // Radix heap
+    // =============================================================================================
+
+    private void radix(GrafoCSR g, int origem, int destino, EspacoDeBusca espaco) {
+        RadixHeap heap = FILAS_DA_THREAD.get().radix;
+        heap.limpar();
+        heap.inserir(origem, 0);
+        while (!heap.isEmpty()) {
+            long du = heap.chaveMinima();
+            int u = heap.removerMinimo();
+            if (du != espaco.distancia(u)) {
+                continue; // Entrada obsoleta.
+            }
+            if (u == destino) {
+                break;
+            }
+            for (int i = g.inicio(u), fim = g.fim(u); i < fim; i++) {
+                int v = g.destino(i);
+                long nova = du + g.peso(i);
+                if (nova < espaco.distancia(v)) {
+                    espaco.atualizar(v, nova, u);
+                    heap.inserir(v, nova);
+                }
+            }
+        }
+    }
+
+    /**
+     * Radix heap monótono: o balde de uma chave k é o índice do bit mais alto em
+     * que k difere de 'ultimo' (a última chave extraída), ou 0 se k == ultimo.
+     * Só aceita chaves >= ultimo.
+     */
+    private static final class RadixHeap {
+        private final ListaInt[] vertices = new ListaInt[65];
+        private final ListaLong[] chaves = new ListaLong[65];
+        private long ultimo;
+        private int tamanho;
+
+        RadixHeap() {
+            for (int b = 0; b < 65; b++) {
+                vertices[b] = new ListaInt();
+                chaves[b] = new ListaLong();
+            }
+        }
+
+        boolean isEmpty() {
+            return tamanho == 0;
+        }
+
+        void limpar() {
+            for (int b = 0; b < 65; b++) {
+                vertices[b].tamanho = 0;
+                chaves[b].tamanho = 0;
+            }
+            ultimo = 0;
+            tamanho = 0;
+        }
+
+        void inserir(int v, long k) {
+            int b = balde(k);
+            vertices[b].adicionar(v);
+            chaves[b].adicionar(k);
+            tamanho++;
+        }
+
+        long chaveMinima() {
+            prepararBaldeZero();
+            return ultimo;
+        }
+
+        int removerMinimo() {
+            prepararBaldeZero();
+            chaves[0].removerUltimo();
+            tamanho--;
+            return vertices[0].removerUltimo();
+        }
+
+        private int balde(long k) {
+            return k == ultimo ? 0 : 64 - Long.numberOfLeadingZeros(k ^ ultimo);
+        }
+
+        // Se o balde 0 está vazio, pega o primeiro balde não vazio, usa sua menor
+        // chave como novo 'ultimo' e redistribui as entradas para baldes menores.
+        private void prepararBaldeZero() {
+            if (!vertices[0].isEmpty()) {
+                return;
+            }
+            int b = 1;
+            while (vertices[b].isEmpty()) {
+                b++;
+            }
+            ListaInt vs = vertices[b];
+            ListaLong ks = chaves[b];
+            long menor = Long.MAX_VALUE;
+            for (int i = 0; i < ks.tamanho; i++) {
+                menor = Math.min(menor, ks.valores[i]);
+            }
+            ultimo = menor;
+            for (int i = 0; i < vs.tamanho; i++) {
+                int novo = balde(ks.valores[i]);
+                vertices[novo].adicionar(vs.valores[i]);
+                chaves[novo].adicionar(ks.valores[i]);
+            }
+            vs.tamanho = 0;
+            ks.tamanho = 0;
+        }
+    }
+
+    // =============================================================================================
+    // Filas reusadas entre consultas (uma instância por thread)
+    // =============================================================================================
+
+    private static final class Filas {
+        final Deque deque = new Deque(16);
+        final RadixHeap radix = new RadixHeap();
+        // Baldes do Dial, criados sob demanda e mantidos para as próximas consultas.
+        private ListaInt[] baldes = new ListaInt[0];
+        // Baldes que receberam entradas desde a última limpeza (pode repetir).
+        private final ListaInt baldesUsados = new ListaInt();
+
+        ListaInt[] baldes(int numBaldes) {
+            if (baldes.length < numBaldes) {
+                baldes = Arrays.copyOf(baldes, numBaldes);
+            }
+            return baldes;
+        }
+
+        void adicionarNoBalde(int b, int v) {
+            ListaInt balde = baldes[b];
+            if (balde == null) {
+                balde = new ListaInt();
+                baldes[b] = balde;
+            }
+            if (balde.isEmpty()) {
+                baldesUsados.adicionar(b);
+            }
+            balde.adicionar(v);
+        }
+
+        // Esvazia só os baldes que a consulta anterior usou: O(baldes usados), não O(C).
+        void limparBaldes() {
+            while (!baldesUsados.isEmpty()) {
+                baldes[baldesUsados.removerUltimo()].tamanho = 0;
+            }
+        }
+    }
+
+    // =============================================================================================
+    // Listas primitivas auxiliares
+    // =============================================================================================
+
+    private static final class ListaInt {
+        int[] valores = new int[8];
+        int tamanho;
+
+        boolean isEmpty() {
+            return tamanho == 0;
+        }
+
+        void adicionar(int x) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho++] = x;
+        }
+
+        int removerUltimo() {
+            return valores[--tamanho];
+        }
+    }
+
+    private static final class ListaLong {
+        long[] valores = new long[8];
+        int tamanho;
+
+        void adicionar(long x) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho++] = x;
+        }
+
+        long removerUltimo() {
+            return valores[--tamanho];
+        }
+    }
+
+    public static void main(String[] args) {
+        int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int grauMedio = 4;
+        DijkstraCSR dijkstra = new DijkstraCSR();
+        DijkstraPesosInteiros inteiros = new DijkstraPesosInteiros();
+        EspacoDeBusca espaco = new EspacoDeBusca(numVertices);
+
+        for (int c : new int[] { 1, 10, 1000, 1_000_000 }) {
+            Random aleatorio = new Random(c);
+            GrafoCSR.Construtor construtor = new GrafoCSR.Construtor(numVertices, numVertices * grauMedio);
+            for (int u = 0; u < numVertices; u++) {
+                for (int j = 0; j < grauMedio; j++) {
+                    construtor.adicionarAresta(u, aleatorio.nextInt(numVertices), aleatorio.nextInt(c + 1));
+                }
+            }
+            GrafoCSR g = construtor.construir(false);
+
+            long inicio = System.nanoTime();
+            long[] esperado = new long[numVertices];
+            ResultadoCaminhos referencia = dijkstra.executar(g, 0, -1, espaco);
+            for (int v = 0; v < numVertices; v++) {
+                esperado[v] = referencia.distancia(v);
+            }
+            System.out.printf("C = %d: heap indexado %.1f ms", c, (System.nanoTime() - inicio) / 1e6);
+
+            for (Fila fila : Fila.values()) {
+                if (fila == Fila.ZERO_UM && c > 1) {
+                    continue;
+                }
+                inicio = System.nanoTime();
+                ResultadoCaminhos r = inteiros.executar(g, 0, -1, fila, espaco);
+                long tempo = System.nanoTime() - inicio;
+                for (int v = 0; v < numVertices; v++) {
+                    if (r.distancia(v) != esperado[v]) {
+                        throw new IllegalStateException(fila + " divergiu do Dijkstra no vértice " + v);
+                    }
+                }
+                System.out.printf(", %s %.1f ms", fila, tempo / 1e6);
+            }
+            System.out.println(" (escolha automática: " + escolherFila(g.pesoMaximo()) + ")");
+        }
+    }
+}
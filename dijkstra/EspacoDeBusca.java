@@ -0,0 +1,125 @@
+package dijkstra;
+
+import java.util.Arrays;
+
+// =================================================================================================
+// Espaço de trabalho reutilizável das buscas sobre o GrafoCSR
+// =================================================================================================
+
+/**
+ * Guarda todo o estado de uma consulta (distâncias, predecessores e o heap)
+ * fora do grafo. Assim o GrafoCSR continua somente leitura e pode ser
+ * consultado por várias threads ao mesmo tempo, cada uma com o seu espaço.
+ *
+ * Um mesmo espaço é reaproveitado de consulta em consulta: depois da primeira,
+ * nenhuma consulta aloca memória. Por isso, o ResultadoCaminhos devolvido só é
+ * válido até a próxima consulta que usar o mesmo espaço.
+ *
+ * Para não percorrer os V vértices a cada consulta, cada posição carrega uma
+ * marca de época: uma distância só vale se marca[v] == epoca. Reiniciar o
+ * espaço é apenas incrementar a época, e o custo de uma consulta fica
+ * proporcional aos vértices que ela realmente tocou.
+ *
+ * Não é thread-safe: use um espaço por thread (veja daThread).
+ */
+public final class EspacoDeBusca {
+
+    private static final ThreadLocal<EspacoDeBusca> DA_THREAD = new ThreadLocal<>();
+    private static final ThreadLocal<EspacoDeBusca> DA_THREAD_TRAS = new ThreadLocal<>();
+
+    private final long[] distancia;
+    private final int[] predecessor;
+    private final int[] marca; // marca[v] == epoca => distancia[v] e predecessor[v] são válidos.
+    private int epoca;
+    private int tocados;
+    final IndexedMinHeap heap;
+    final ResultadoCaminhos resultado;
+
+    /**
+     * @param capacidade O maior número de vértices que o espaço deve suportar.
+     *                   Complexidade: O(V).
+     */
+    public EspacoDeBusca(int capacidade) {
+        this.distancia = new long[capacidade];
+        this.predecessor = new int[capacidade];
+        this.marca = new int[capacidade];
+        this.heap = new IndexedMinHeap(capacidade, 4);
+        this.resultado = new ResultadoCaminhos(this);
+    }
+
+    /**
+     * Retorna o espaço da thread atual, criando-o (ou aumentando-o) se
+     * necessário. Com um só grafo carregado, cada thread aloca uma única vez.
+     *
+     * @param numVertices O número de vértices do grafo a ser consultado.
+     * @return O espaço de busca desta thread.
+     */
+    public static EspacoDeBusca daThread(int numVertices) {
+        return obter(DA_THREAD, numVertices);
+    }
+
+    /**
+     * Segundo espaço da thread atual, sempre diferente de daThread: é o da
+     * busca para trás nas consultas bidirecionais (DijkstraBidirecional e
+     * ContractionHierarchies).
+     *
+     * @param numVertices O número de vértices do grafo a ser consultado.
+     * @return O espaço de busca para trás desta thread.
+     */
+    public static EspacoDeBusca daThreadTras(int numVertices) {
+        return obter(DA_THREAD_TRAS, numVertices);
+    }
+
+    private static EspacoDeBusca obter(ThreadLocal<EspacoDeBusca> daThread, int numVertices) {
+        EspacoDeBusca espaco = daThread.get();
+        if (espaco == null || espaco.capacidade() < numVertices) {
+            espaco = new EspacoDeBusca(numVertices);
+            daThread.set(espaco);
+        }
+        return espaco;
+    }
+
+    public int capacidade() {
+        return distancia.length;
+    }
+
+    /**
+     * Número de vértices cuja distância foi definida na última consulta.
+     */
+    public int verticesTocados() {
+        return tocados;
+    }
+
+    /**
+     * Prepara o espaço para uma nova busca a partir de 'origem'.
+     * Todas as distâncias passam a valer INFINITO só por trocar de época.
+     * Complexidade: O(1) amortizado (O(V) a cada 2^31 consultas, quando a época estoura).
+     */
+    void reiniciar(int origem) {
+        heap.clear();
+        if (++epoca == Integer.MAX_VALUE) {
+            Arrays.fill(marca, 0);
+            epoca = 1;
+        }
+        tocados = 0;
+        atualizar(origem, 0, -1);
+        resultado.origem = origem;
+    }
+
+    long distancia(int v) {
+        return marca[v] == epoca ? distancia[v] : DijkstraCSR.INFINITO;
+    }
+
+    int predecessor(int v) {
+        return marca[v] == epoca ? predecessor[v] : -1;
+    }
+
+    void atualizar(int v, long novaDistancia, int novoPredecessor) {
+        if (marca[v] != epoca) {
+            marca[v] = epoca;
+            tocados++;
+        }
+        distancia[v] = novaDistancia;
+        predecessor[v] = novoPredecessor;
+    }
+}
@@ -0,0 +1,249 @@
+package dijkstra;
+
+import java.util.Arrays;
+
+// =================================================================================================
+// Grafo imutável em formato CSR (Compressed Sparse Row)
+// =================================================================================================
+
+/**
+ * Grafo direcionado e ponderado armazenado em vetores primitivos.
+ *
+ * As arestas que saem de 'u' ocupam as posições offsets[u] .. offsets[u+1]-1
+ * dos vetores 'destinos' e 'pesos'. Comparado a List<List<Aresta>>, não há um
+ * objeto por aresta (são 8 bytes por aresta em vez de ~40) e os vizinhos de
+ * um vértice ficam contíguos na memória, então percorrê-los é sequencial.
+ *
+ * Opcionalmente guarda também o grafo reverso (arestas que ENTRAM em cada
+ * vértice), usado por buscas que andam para trás a partir do destino.
+ *
+ * Uso típico:
+ *   for (int i = g.inicio(u); i < g.fim(u); i++) {
+ *       int v = g.destino(i);
+ *       int w = g.peso(i);
+ *   }
+ */
+public final class GrafoCSR {
+
+    private final int numVertices;
+    private final int[] offsets;  // tamanho V+1
+    private final int[] destinos; // tamanho A
+    private final int[] pesos;    // tamanho A
+
+    // Grafo reverso (null se não foi construído).
+    private final int[] offsetsReverso;
+    private final int[] origensReverso;
+    private final int[] pesosReverso;
+
+    // Menor e maior peso de aresta (0 se o grafo não tem arestas).
+    private final int pesoMinimo;
+    private final int pesoMaximo;
+
+    private GrafoCSR(int numVertices, int[] offsets, int[] destinos, int[] pesos,
+            int[] offsetsReverso, int[] origensReverso, int[] pesosReverso, int pesoMinimo, int pesoMaximo) {
+        this.numVertices = numVertices;
+        this.pesoMinimo = pesoMinimo;
+        this.pesoMaximo = pesoMaximo;
+        this.offsets = offsets;
+        this.destinos = destinos;
+        this.pesos = pesos;
+        this.offsetsReverso = offsetsReverso;
+        this.origensReverso = origensReverso;
+        this.pesosReverso = pesosReverso;
+    }
+
+    public int quantidadeVertices() {
+        return numVertices;
+    }
+
+    public int quantidadeArestas() {
+        return destinos.length;
+    }
+
+    /** Posição da primeira aresta que sai de u. */
+    public int inicio(int u) {
+        return offsets[u];
+    }
+
+    /** Posição seguinte à última aresta que sai de u. */
+    public int fim(int u) {
+        return offsets[u + 1];
+    }
+
+    public int grauSaida(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    /** Vértice de destino da i-ésima aresta. */
+    public int destino(int i) {
+        return destinos[i];
+    }
+
+    /** Peso da i-ésima aresta. */
+    public int peso(int i) {
+        return pesos[i];
+    }
+
+    public int pesoMinimo() {
+        return pesoMinimo;
+    }
+
+    public int pesoMaximo() {
+        return pesoMaximo;
+    }
+
+    public boolean temReverso() {
+        return offsetsReverso != null;
+    }
+
+    /** Posição da primeira aresta que entra em v (grafo reverso). */
+    public int inicioReverso(int v) {
+        return offsetsReverso[v];
+    }
+
+    /** Posição seguinte à última aresta que entra em v (grafo reverso). */
+    public int fimReverso(int v) {
+        return offsetsReverso[v + 1];
+    }
+
+    /** Vértice de origem da i-ésima aresta do grafo reverso. */
+    public int origemReversa(int i) {
+        return origensReverso[i];
+    }
+
+    /** Peso da i-ésima aresta do grafo reverso. */
+    public int pesoReverso(int i) {
+        return pesosReverso[i];
+    }
+
+    /**
+     * Retorna o grafo transposto (todas as arestas invertidas) sem copiar nada:
+     * os vetores diretos e reversos apenas trocam de papel.
+     *
+     * @return O grafo transposto.
+     *         Complexidade: O(1).
+     */
+    public GrafoCSR transposto() {
+        if (!temReverso()) {
+            throw new IllegalStateException("Grafo construído sem o reverso.");
+        }
+        return new GrafoCSR(numVertices, offsetsReverso, origensReverso, pesosReverso, offsets, destinos, pesos,
+                pesoMinimo, pesoMaximo);
+    }
+
+    /**
+     * Retorna o peso da aresta u -> v, ou -1 se ela não existir.
+     * Se houver arestas paralelas, retorna a de menor peso.
+     * Complexidade: O(grau_saida(u)).
+     */
+    public int pesoAresta(int u, int v) {
+        int melhor = -1;
+        for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+            if (destinos[i] == v && (melhor == -1 || pesos[i] < melhor)) {
+                melhor = pesos[i];
+            }
+        }
+        return melhor;
+    }
+
+    // =============================================================================================
+    // Construtor incremental: recebe as mesmas chamadas adicionarAresta do Grafo
+    // =============================================================================================
+
+    /**
+     * Acumula as arestas em três vetores paralelos e, ao final, monta o CSR
+     * com uma ordenação por contagem (estável, então a ordem dos vizinhos de
+     * cada vértice é a mesma ordem em que as arestas foram adicionadas).
+     */
+    public static class Construtor {
+        private final int numVertices;
+        private int[] origens;
+        private int[] destinos;
+        private int[] pesos;
+        private int numArestas;
+
+        public Construtor(int numVertices) {
+            this(numVertices, 16);
+        }
+
+        /**
+         * @param numVertices         O número de vértices.
+         * @param capacidadeArestas   Estimativa do número de arestas (evita realocações).
+         */
+        public Construtor(int numVertices, int capacidadeArestas) {
+            this.numVertices = numVertices;
+            int capacidade = Math.max(capacidadeArestas, 1);
+            this.origens = new int[capacidade];
+            this.destinos = new int[capacidade];
+            this.pesos = new int[capacidade];
+        }
+
+        /**
+         * Adiciona a aresta direcionada origem -> destino.
+         * Complexidade: O(1) amortizado.
+         */
+        public Construtor adicionarAresta(int origem, int destino, int peso) {
+            if (origem < 0 || origem >= numVertices || destino < 0 || destino >= numVertices) {
+                throw new IndexOutOfBoundsException("Aresta (" + origem + ", " + destino + ") fora do grafo.");
+            }
+            if (numArestas == origens.length) {
+                int novaCapacidade = origens.length * 2;
+                origens = Arrays.copyOf(origens, novaCapacidade);
+                destinos = Arrays.copyOf(destinos, novaCapacidade);
+                pesos = Arrays.copyOf(pesos, novaCapacidade);
+            }
+            origens[numArestas] = origem;
+            destinos[numArestas] = destino;
+            pesos[numArestas] = peso;
+            numArestas++;
+            return this;
+        }
+
+        /**
+         * Monta o grafo CSR.
+         *
+         * @param comReverso Se true, monta também o grafo reverso.
+         * @return O grafo imutável.
+         *         Complexidade: O(V + A).
+         */
+        public GrafoCSR construir(boolean comReverso) {
+            int[] offsets = new int[numVertices + 1];
+            int[] destinosCSR = new int[numArestas];
+            int[] pesosCSR = new int[numArestas];
+            agrupar(origens, destinos, offsets, destinosCSR, pesosCSR);
+            int pesoMinimo = numArestas == 0 ? 0 : Integer.MAX_VALUE;
+            int pesoMaximo = numArestas == 0 ? 0 : Integer.MIN_VALUE;
+            for (int i = 0; i < numArestas; i++) {
+                pesoMinimo = Math.min(pesoMinimo, pesos[i]);
+                pesoMaximo = Math.max(pesoMaximo, pesos[i]);
+            }
+
+            if (!comReverso) {
+                return new GrafoCSR(numVertices, offsets, destinosCSR, pesosCSR, null, null, null,
+                        pesoMinimo, pesoMaximo);
+            }
+            int[] offsetsReverso = new int[numVertices + 1];
+            int[] origensReverso = new int[numArestas];
+            int[] pesosReverso = new int[numArestas];
+            agrupar(destinos, origens, offsetsReverso, origensReverso, pesosReverso);
+            return new GrafoCSR(numVertices, offsets, destinosCSR, pesosCSR,
+                    offsetsReverso, origensReverso, pesosReverso, pesoMinimo, pesoMaximo);
+        }
+
+        // Ordenação por contagem das arestas pela chave 'agrupador'.
+        private void agrupar(int[] agrupador, int[] outraPonta, int[] offsets, int[] pontaCSR, int[] pesoCSR) {
+            for (int i = 0; i < numArestas; i++) {
+                offsets[agrupador[i] + 1]++;
+            }
+            for (int u = 0; u < numVertices; u++) {
+                offsets[u + 1] += offsets[u];
+            }
+            int[] proximo = Arrays.copyOf(offsets, numVertices);
+            for (int i = 0; i < numArestas; i++) {
+                int pos = proximo[agrupador[i]]++;
+                pontaCSR[pos] = outraPonta[i];
+                pesoCSR[pos] = pesos[i];
+            }
+        }
+    }
+}
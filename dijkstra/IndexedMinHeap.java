@@ -0,0 +1,275 @@
+package dijkstra;
+
+import java.util.Arrays;
+
+// =================================================================================================
+// Min-Heap Indexado (d-ário) com DECREASE-KEY
+// =================================================================================================
+
+/**
+ * Fila de prioridade mínima indexada pelo índice do vértice (0..capacidade-1).
+ * Diferente da MinPriorityQueue de DijkstraManualHeap, cada vértice aparece no
+ * máximo uma vez no heap: o vetor 'posicao' guarda onde cada vértice está,
+ * o que permite a operação DECREASE-KEY do Cormen sem re-inserir cópias.
+ * Assim o tamanho do heap nunca passa de V.
+ *
+ * O heap é d-ário (aridade 2 = heap binário). Aridades maiores (ex.: 4) deixam
+ * a árvore mais rasa, barateando o DECREASE-KEY, que é a operação mais
+ * frequente no Dijkstra.
+ */
+public class IndexedMinHeap {
+    private final int aridade;
+    private final int[] heap;     // heap[i] = vértice na posição i do heap.
+    private final int[] posicao;  // posicao[v] = posição de v no heap, ou -1 se não está no heap.
+    private final long[] chave;   // chave[v] = prioridade atual de v.
+    private int tamanho;
+
+    // Contadores para comparar com a abordagem de re-inserção.
+    private long comparacoes;
+    private long trocas;
+    private int tamanhoMaximo;
+
+    /**
+     * Cria um heap binário para vértices de 0 a capacidade-1.
+     *
+     * @param capacidade O número de vértices.
+     *                   Complexidade: O(V).
+     */
+    public IndexedMinHeap(int capacidade) {
+        this(capacidade, 2);
+    }
+
+    /**
+     * Cria um heap d-ário para vértices de 0 a capacidade-1.
+     *
+     * @param capacidade O número de vértices.
+     * @param aridade    O número de filhos de cada nó (>= 2).
+     *                   Complexidade: O(V).
+     */
+    public IndexedMinHeap(int capacidade, int aridade) {
+        if (aridade < 2) {
+            throw new IllegalArgumentException("A aridade do heap deve ser pelo menos 2.");
+        }
+        this.aridade = aridade;
+        this.heap = new int[capacidade];
+        this.posicao = new int[capacidade];
+        this.chave = new long[capacidade];
+        Arrays.fill(posicao, -1);
+    }
+
+    public boolean isEmpty() {
+        return tamanho == 0;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public boolean contem(int v) {
+        return posicao[v] != -1;
+    }
+
+    public long chave(int v) {
+        return chave[v];
+    }
+
+    /**
+     * Insere o vértice v com a chave informada.
+     *
+     * @param v Índice do vértice (não pode estar no heap).
+     * @param k Chave (distância estimada).
+     *          Complexidade: O(log_d V).
+     */
+    public void insert(int v, long k) {
+        if (contem(v)) {
+            throw new IllegalStateException("Vértice " + v + " já está no heap.");
+        }
+        chave[v] = k;
+        heap[tamanho] = v;
+        posicao[v] = tamanho;
+        tamanho++;
+        if (tamanho > tamanhoMaximo) {
+            tamanhoMaximo = tamanho;
+        }
+        heapifyUp(tamanho - 1);
+    }
+
+    /**
+     * DECREASE-KEY: diminui a chave de um vértice que já está no heap.
+     *
+     * @param v Índice do vértice (deve estar no heap).
+     * @param k Nova chave (deve ser menor ou igual à atual).
+     *          Complexidade: O(log_d V).
+     */
+    public void decreaseKey(int v, long k) {
+        if (!contem(v)) {
+            throw new IllegalArgumentException("Vértice " + v + " não está no heap.");
+        }
+        if (k > chave[v]) {
+            throw new IllegalArgumentException("Nova chave é maior que a chave atual.");
+        }
+        chave[v] = k;
+        heapifyUp(posicao[v]);
+    }
+
+    /**
+     * Altera a chave de um vértice que já está no heap, para mais ou para menos.
+     *
+     * @param v Índice do vértice (deve estar no heap).
+     * @param k Nova chave.
+     *          Complexidade: O(d log_d V).
+     */
+    public void updateKey(int v, long k) {
+        if (!contem(v)) {
+            throw new IllegalArgumentException("Vértice " + v + " não está no heap.");
+        }
+        long antiga = chave[v];
+        chave[v] = k;
+        if (k < antiga) {
+            heapifyUp(posicao[v]);
+        } else {
+            heapifyDown(posicao[v]);
+        }
+    }
+
+    /**
+     * Insere v se ele não estiver no heap, ou diminui sua chave caso contrário.
+     * É a operação usada no relaxamento do Dijkstra.
+     *
+     * @return true se a chave de v foi alterada.
+     *         Complexidade: O(log_d V).
+     */
+    public boolean insertOrDecreaseKey(int v, long k) {
+        if (!contem(v)) {
+            insert(v, k);
+            return true;
+        }
+        if (k < chave[v]) {
+            decreaseKey(v, k);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Retorna, sem remover, o vértice de menor chave.
+     * Complexidade: O(1).
+     */
+    public int topo() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Fila de prioridade vazia.");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Remove e retorna o vértice de menor chave.
+     *
+     * @return O índice do vértice com a menor chave.
+     *         Complexidade: O(d log_d V).
+     */
+    public int extractMin() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Fila de prioridade vazia.");
+        }
+        int min = heap[0];
+        posicao[min] = -1;
+        tamanho--;
+        if (tamanho > 0) {
+            int ultimo = heap[tamanho];
+            heap[0] = ultimo;
+            posicao[ultimo] = 0;
+            heapifyDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Esvazia o heap. Só percorre os vértices que ainda estão nele, então o
+     * custo é proporcional ao tamanho atual e não a V.
+     * Complexidade: O(tamanho).
+     */
+    public void clear() {
+        for (int i = 0; i < tamanho; i++) {
+            posicao[heap[i]] = -1;
+        }
+        tamanho = 0;
+    }
+
+    public long getComparacoes() {
+        return comparacoes;
+    }
+
+    public long getTrocas() {
+        return trocas;
+    }
+
+    public int getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    public void zerarContadores() {
+        comparacoes = 0;
+        trocas = 0;
+        tamanhoMaximo = tamanho;
+    }
+
+    // heapifyUp "com buraco": o vértice só é escrito na posição final,
+    // então cada nível percorrido custa uma escrita em vez de uma troca completa.
+    private void heapifyUp(int i) {
+        int v = heap[i];
+        long k = chave[v];
+        while (i > 0) {
+            int p = parent(i);
+            int pai = heap[p];
+            comparacoes++;
+            if (k >= chave[pai]) {
+                break;
+            }
+            heap[i] = pai;
+            posicao[pai] = i;
+            trocas++;
+            i = p;
+        }
+        heap[i] = v;
+        posicao[v] = i;
+    }
+
+    private void heapifyDown(int i) {
+        int v = heap[i];
+        long k = chave[v];
+        while (true) {
+            int primeiro = firstChild(i);
+            if (primeiro >= tamanho) {
+                break;
+            }
+            int ultimo = Math.min(primeiro + aridade, tamanho);
+            int menor = primeiro;
+            for (int c = primeiro + 1; c < ultimo; c++) {
+                comparacoes++;
+                if (chave[heap[c]] < chave[heap[menor]]) {
+                    menor = c;
+                }
+            }
+            comparacoes++;
+            if (chave[heap[menor]] >= k) {
+                break;
+            }
+            heap[i] = heap[menor];
+            posicao[heap[i]] = i;
+            trocas++;
+            i = menor;
+        }
+        heap[i] = v;
+        posicao[v] = i;
+    }
+
+    // Métodos auxiliares para cálculo de índices (base 0)
+    private int parent(int i) {
+        return (i - 1) / aridade;
+    }
+
+    private int firstChild(int i) {
+        return aridade * i + 1;
+    }
+}
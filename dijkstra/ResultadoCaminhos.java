@@ -0,0 +1,60 @@
+package dijkstra;
+
+// =================================================================================================
+// Resultado de uma busca de menores caminhos a partir de uma origem
+// =================================================================================================
+
+/**
+ * Visão somente leitura das distâncias e predecessores calculados por uma
+ * busca. Os dados ficam nos vetores primitivos do EspacoDeBusca que executou
+ * a consulta, então o resultado é válido até a próxima consulta com o mesmo
+ * espaço. Para guardá-lo por mais tempo, copie os valores necessários.
+ */
+public final class ResultadoCaminhos {
+
+    private final EspacoDeBusca espaco;
+    int origem;
+
+    ResultadoCaminhos(EspacoDeBusca espaco) {
+        this.espaco = espaco;
+    }
+
+    public int origem() {
+        return origem;
+    }
+
+    /** Distância da origem até v, ou DijkstraCSR.INFINITO se v não foi alcançado. */
+    public long distancia(int v) {
+        return espaco.distancia(v);
+    }
+
+    /** Predecessor de v no caminho mínimo, ou -1 se não tem. */
+    public int predecessor(int v) {
+        return espaco.predecessor(v);
+    }
+
+    public boolean alcancado(int v) {
+        return espaco.distancia(v) != DijkstraCSR.INFINITO;
+    }
+
+    /**
+     * Reconstrói o caminho origem -> destino seguindo os predecessores.
+     *
+     * @return Os vértices do caminho, ou um vetor vazio se o destino não foi alcançado.
+     *         Complexidade: O(tamanho do caminho).
+     */
+    public int[] caminhoAte(int destino) {
+        if (!alcancado(destino)) {
+            return new int[0];
+        }
+        int tamanho = 1;
+        for (int v = destino; v != origem; v = predecessor(v)) {
+            tamanho++;
+        }
+        int[] caminho = new int[tamanho];
+        for (int v = destino, i = tamanho - 1; i >= 0; v = predecessor(v), i--) {
+            caminho[i] = v;
+        }
+        return caminho;
+    }
+}
@@ -0,0 +1,420 @@
+package kruskal;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+// =================================================================================================
+// Árvore Geradora Mínima euclidiana de pontos em 2D/3D (Borůvka sobre uma k-d tree)
+// =================================================================================================
+
+/**
+ * AGM do grafo completo de n pontos com peso = distância euclidiana, sem
+ * montar as n(n-1)/2 arestas.
+ *
+ * É o Borůvka do BoruvkaParalelo, com a aresta mais leve que sai de cada
+ * componente encontrada por uma k-d tree. Como lá, cada rodada roda em streams
+ * paralelos: as buscas, a escolha da aresta de cada componente, as uniões no
+ * UnionFindConcorrente e a reetiquetagem. Para cada ponto, busca o vizinho
+ * mais próximo que esteja em OUTRA componente. A busca descarta uma subárvore
+ * se a sua caixa está mais longe que a melhor distância já conhecida da
+ * componente do ponto, ou se todos os pontos dela estão na mesma componente
+ * do ponto (cada nó guarda a componente comum dos seus pontos, ou -1).
+ *
+ * Entre rodadas as componentes só crescem, então a distância de um ponto até
+ * a componente estrangeira mais próxima só aumenta. Cada ponto guarda o último
+ * vizinho achado: se ele ainda está em outra componente, continua sendo o mais
+ * próximo e a busca é pulada; se não, a distância antiga é um limite inferior,
+ * e o ponto só é buscado se esse limite for menor que a melhor distância já
+ * conhecida da sua componente.
+ *
+ * Vizinhos mais próximos comuns (k-NN) alimentando o Kruskal não dariam a AGM
+ * exata (o grafo k-NN pode ser desconexo ou não conter uma aresta da AGM), e
+ * a triangulação de Delaunay só resolve o caso 2D; o Borůvka é exato em 2D e 3D.
+ *
+ * Só a rotulação dos nós da árvore (O(n / TAMANHO_FOLHA) por rodada) é sequencial.
+ *
+ * Complexidade: O(n log n) para montar a árvore e, por rodada, n buscas de
+ * custo O(log n) esperado para pontos bem distribuídos; no máximo log n rodadas.
+ */
+public final class AGMEuclidiana {
+
+    private static final int TAMANHO_FOLHA = 16;
+
+    // Uma Busca por thread, reiniciada a cada ponto buscado.
+    private static final ThreadLocal<Busca> BUSCA_DA_THREAD = ThreadLocal.withInitial(Busca::new);
+
+    private final int n;
+    private final int dimensao;
+    private final double[] coordenadas; // Reordenadas na ordem da árvore: ponto p em [p*d, p*d + d).
+    private final int[] original;       // original[p] = índice do ponto p na entrada.
+
+    // Nós da árvore, em pré-ordem (os filhos vêm depois do pai).
+    private int quantidadeNos;
+    private int[] noInicio;
+    private int[] noFim;
+    private int[] noEsquerda;           // -1 nas folhas; o filho direito é noDireita.
+    private int[] noDireita;
+    private double[] caixaMinimo;       // Caixa envolvente do nó: [no*d, no*d + d).
+    private double[] caixaMaximo;
+
+    private int rodadas;
+
+    /**
+     * Monta a k-d tree.
+     *
+     * @param pontos   Coordenadas, ponto i em pontos[i*dimensao .. i*dimensao + dimensao - 1].
+     * @param dimensao 2 ou 3.
+     * Complexidade: O(n log n).
+     */
+    public AGMEuclidiana(double[] pontos, int dimensao) {
+        if (dimensao < 1 || pontos.length % dimensao != 0) {
+            throw new IllegalArgumentException("O vetor de coordenadas não tem dimensão " + dimensao + ".");
+        }
+        this.dimensao = dimensao;
+        this.n = pontos.length / dimensao;
+        this.coordenadas = pontos.clone();
+        this.original = IntStream.range(0, n).toArray();
+        int maxNos = Math.max(1, 4 * (n / TAMANHO_FOLHA + 1));
+        noInicio = new int[maxNos];
+        noFim = new int[maxNos];
+        noEsquerda = new int[maxNos];
+        noDireita = new int[maxNos];
+        caixaMinimo = new double[maxNos * dimensao];
+        caixaMaximo = new double[maxNos * dimensao];
+        if (n > 0) {
+            construir(0, n);
+        }
+    }
+
+    public int quantidadePontos() {
+        return n;
+    }
+
+    public int getRodadas() {
+        return rodadas;
+    }
+
+    /**
+     * Calcula a AGM.
+     *
+     * @return As n-1 arestas, a k-ésima entre os pontos arestas[2k] e arestas[2k+1]
+     *         (índices da entrada).
+     */
+    public int[] calcular() {
+        UnionFindConcorrente uf = new UnionFindConcorrente(n);
+        int[] componente = IntStream.range(0, n).toArray();
+        int[] raizes = IntStream.range(0, n).toArray();
+        int[] componenteNo = new int[quantidadeNos];
+        // Melhor distância² de cada componente na rodada (bits do double, que
+        // para valores >= 0 têm a mesma ordem dos longs).
+        AtomicLongArray melhor = new AtomicLongArray(n);
+        // Menor ponto de cada componente que atinge a melhor distância, ou -1.
+        AtomicIntegerArray escolhido = new AtomicIntegerArray(n);
+        // Por ponto: o último vizinho de outra componente (-1 se não vale mais)
+        // e a distância² até ele, ou um limite inferior se vizinho == -1.
+        double[] distanciaPonto = new double[n];
+        int[] vizinhoPonto = new int[n];
+        Arrays.fill(vizinhoPonto, -1);
+        int[] arestas = new int[2 * Math.max(n - 1, 0)];
+        int tamanho = 0;
+        rodadas = 0;
+
+        while (tamanho < n - 1) {
+            rodadas++;
+            rotularNos(componente, componenteNo);
+            IntStream.of(raizes).parallel().forEach(c -> {
+                melhor.set(c, Double.doubleToLongBits(Double.POSITIVE_INFINITY));
+                escolhido.set(c, -1);
+            });
+
+            // 1a. Vizinhos da rodada anterior que continuam em outra componente.
+            IntStream.range(0, n).parallel().forEach(p -> {
+                int q = vizinhoPonto[p];
+                if (q != -1 && componente[q] != componente[p]) {
+                    minimoAtomico(melhor, componente[p], distanciaPonto[p]);
+                } else {
+                    vizinhoPonto[p] = -1;
+                }
+            });
+
+            // 1b. Busca na árvore só para os pontos que ainda podem melhorar a sua componente.
+            IntStream.range(0, n).parallel().forEach(p -> {
+                if (vizinhoPonto[p] != -1) {
+                    return;
+                }
+                int c = componente[p];
+                double limite = Double.longBitsToDouble(melhor.get(c));
+                if (distanciaPonto[p] >= limite) {
+                    return;
+                }
+                Busca busca = BUSCA_DA_THREAD.get();
+                busca.reiniciar(p, c, limite);
+                buscar(busca, 0, componente, componenteNo);
+                distanciaPonto[p] = busca.melhorDistancia;
+                vizinhoPonto[p] = busca.vizinho;
+                if (busca.vizinho != -1) {
+                    minimoAtomico(melhor, c, busca.melhorDistancia);
+                }
+            });
+
+            // 2. Aresta mais curta de cada componente (o menor ponto que a atinge).
+            IntStream.range(0, n).parallel().forEach(p -> {
+                int c = componente[p];
+                if (vizinhoPonto[p] != -1 && Double.doubleToLongBits(distanciaPonto[p]) == melhor.get(c)) {
+                    minimoAtomico(escolhido, c, p);
+                }
+            });
+
+            // 3. Uniões: se duas componentes escolhem arestas que fecham um ciclo
+            // (todas de mesmo comprimento), só as chamadas a unir que retornam true entram.
+            int[] unidos = IntStream.of(raizes).parallel()
+                    .map(c -> escolhido.get(c))
+                    .filter(p -> p != -1 && uf.unir(p, vizinhoPonto[p]))
+                    .toArray();
+            for (int p : unidos) {
+                arestas[2 * tamanho] = original[p];
+                arestas[2 * tamanho + 1] = original[vizinhoPonto[p]];
+                tamanho++;
+            }
+
+            // 4. Reetiqueta.
+            IntStream.range(0, n).parallel().forEach(p -> componente[p] = uf.find(p));
+            raizes = IntStream.of(raizes).parallel().filter(c -> componente[c] == c).toArray();
+        }
+        return arestas;
+    }
+
+    private static void minimoAtomico(AtomicLongArray melhor, int c, double distancia) {
+        long bits = Double.doubleToLongBits(distancia);
+        long atual = melhor.get(c);
+        while (bits < atual && !melhor.compareAndSet(c, atual, bits)) {
+            atual = melhor.get(c);
+        }
+    }
+
+    private static void minimoAtomico(AtomicIntegerArray escolhido, int c, int p) {
+        int atual = escolhido.get(c);
+        while ((atual == -1 || p < atual) && !escolhido.compareAndSet(c, atual, p)) {
+            atual = escolhido.get(c);
+        }
+    }
+
+    /**
+     * Soma dos comprimentos das arestas devolvidas por calcular().
+     * Complexidade: O(n).
+     */
+    public double comprimento(double[] pontos, int[] arestas) {
+        double total = 0;
+        for (int k = 0; k < arestas.length; k += 2) {
+            double soma = 0;
+            for (int j = 0; j < dimensao; j++) {
+                double d = pontos[arestas[k] * dimensao + j] - pontos[arestas[k + 1] * dimensao + j];
+                soma += d * d;
+            }
+            total += Math.sqrt(soma);
+        }
+        return total;
+    }
+
+    // =============================================================================================
+    // k-d tree
+    // =============================================================================================
+
+    // Estado de uma busca de vizinho: o ponto p, a sua componente e a melhor distância² até agora.
+    private static final class Busca {
+        int ponto;
+        int componente;
+        double melhorDistancia;
+        int vizinho;
+
+        void reiniciar(int ponto, int componente, double limite) {
+            this.ponto = ponto;
+            this.componente = componente;
+            this.melhorDistancia = limite;
+            this.vizinho = -1;
+        }
+    }
+
+    private void buscar(Busca busca, int no, int[] componente, int[] componenteNo) {
+        if (componenteNo[no] == busca.componente || distanciaCaixa(busca.ponto, no) >= busca.melhorDistancia) {
+            return;
+        }
+        if (noEsquerda[no] == -1) {
+            int base = busca.ponto * dimensao;
+            for (int q = noInicio[no]; q < noFim[no]; q++) {
+                if (componente[q] == busca.componente) {
+                    continue;
+                }
+                double soma = 0;
+                for (int j = 0; j < dimensao; j++) {
+                    double d = coordenadas[base + j] - coordenadas[q * dimensao + j];
+                    soma += d * d;
+                }
+                if (soma < busca.melhorDistancia) {
+                    busca.melhorDistancia = soma;
+                    busca.vizinho = q;
+                }
+            }
+            return;
+        }
+        // Desce primeiro no filho mais próximo, para apertar o limite antes do outro.
+        int esquerda = noEsquerda[no];
+        int direita = noDireita[no];
+        if (distanciaCaixa(busca.ponto, direita) < distanciaCaixa(busca.ponto, esquerda)) {
+            int tmp = esquerda;
+            esquerda = direita;
+            direita = tmp;
+        }
+        buscar(busca, esquerda, componente, componenteNo);
+        buscar(busca, direita, componente, componenteNo);
+    }
+
+    // Distância² do ponto p até a caixa do nó (0 se estiver dentro).
+    private double distanciaCaixa(int p, int no) {
+        double soma = 0;
+        for (int j = 0; j < dimensao; j++) {
+            double x = coordenadas[p * dimensao + j];
+            double d = Math.max(0, Math.max(caixaMinimo[no * dimensao + j] - x, x - caixaMaximo[no * dimensao + j]));
+            soma += d * d;
+        }
+        return soma;
+    }
+
+    // componenteNo[no] = componente comum a todos os pontos do nó, ou -1.
+    // Os filhos vêm depois do pai, então percorrer de trás para frente resolve os filhos primeiro.
+    private void rotularNos(int[] componente, int[] componenteNo) {
+        for (int no = quantidadeNos - 1; no >= 0; no--) {
+            if (noEsquerda[no] == -1) {
+                int c = componente[noInicio[no]];
+                for (int q = noInicio[no] + 1; q < noFim[no] && c != -1; q++) {
+                    if (componente[q] != c) {
+                        c = -1;
+                    }
+                }
+                componenteNo[no] = c;
+            } else {
+                int c = componenteNo[noEsquerda[no]];
+                componenteNo[no] = c == componenteNo[noDireita[no]] ? c : -1;
+            }
+        }
+    }
+
+    // Cria o nó dos pontos [inicio, fim), dividindo pela mediana da maior dimensão da caixa.
+    private int construir(int inicio, int fim) {
+        int no = quantidadeNos++;
+        noInicio[no] = inicio;
+        noFim[no] = fim;
+        int maiorDimensao = 0;
+        double maiorLargura = -1;
+        for (int j = 0; j < dimensao; j++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int p = inicio; p < fim; p++) {
+                double x = coordenadas[p * dimensao + j];
+                min = Math.min(min, x);
+                max = Math.max(max, x);
+            }
+            caixaMinimo[no * dimensao + j] = min;
+            caixaMaximo[no * dimensao + j] = max;
+            if (max - min > maiorLargura) {
+                maiorLargura = max - min;
+                maiorDimensao = j;
+            }
+        }
+        if (fim - inicio <= TAMANHO_FOLHA) {
+            noEsquerda[no] = -1;
+            noDireita[no] = -1;
+            return no;
+        }
+        int meio = (inicio + fim) >>> 1;
+        selecionar(inicio, fim, meio, maiorDimensao);
+        noEsquerda[no] = construir(inicio, meio);
+        noDireita[no] = construir(meio, fim);
+        return no;
+    }
+
+    // Quickselect: põe em 'k' o ponto que estaria lá se [inicio, fim) fosse
+    // ordenado pela coordenada j, com os menores antes e os maiores depois.
+    private void selecionar(int inicio, int fim, int k, int j) {
+        int esquerda = inicio;
+        int direita = fim - 1;
+        while (esquerda < direita) {
+            double pivo = coordenadas[((esquerda + direita) >>> 1) * dimensao + j];
+            int i = esquerda;
+            int f = direita;
+            while (i <= f) {
+                while (coordenadas[i * dimensao + j] < pivo) {
+                    i++;
+                }
+                while (coordenadas[f * dimensao + j] > pivo) {
+                    f--;
+                }
+                if (i <= f) {
+                    trocar(i++, f--);
+                }
+            }
+            if (k <= f) {
+                direita = f;
+            } else if (k >= i) {
+                esquerda = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void trocar(int a, int b) {
+        for (int j = 0; j < dimensao; j++) {
+            double tmp = coordenadas[a * dimensao + j];
+            coordenadas[a * dimensao + j] = coordenadas[b * dimensao + j];
+            coordenadas[b * dimensao + j] = tmp;
+        }
+        int tmp = original[a];
+        original[a] = original[b];
+        original[b] = tmp;
+    }
+
+    public static void main(String[] args) {
+        // Conferência com o Kruskal.kruskal sobre o grafo completo (peso inteiro =
+        // distância² de pontos com coordenadas inteiras, que dá a mesma AGM).
+        Random aleatorio = new Random(41);
+        int pequeno = 1500;
+        double[] pontos = new double[2 * pequeno];
+        for (int i = 0; i < pontos.length; i++) {
+            pontos[i] = aleatorio.nextInt(20_000);
+        }
+        List<Aresta> completo = new ArrayList<>();
+        for (int u = 0; u < pequeno; u++) {
+            for (int v = u + 1; v < pequeno; v++) {
+                double dx = pontos[2 * u] - pontos[2 * v];
+                double dy = pontos[2 * u + 1] - pontos[2 * v + 1];
+                completo.add(new Aresta(u, v, (int) (dx * dx + dy * dy)));
+            }
+        }
+        double esperado = 0;
+        for (Aresta a : new Kruskal().kruskal(pequeno, completo)) {
+            esperado += Math.sqrt(a.peso);
+        }
+        AGMEuclidiana agm = new AGMEuclidiana(pontos, 2);
+        double obtido = agm.comprimento(pontos, agm.calcular());
+        System.out.printf("%d pontos: Kruskal no grafo completo %.3f, k-d tree %.3f\n", pequeno, esperado, obtido);
+
+        // Um milhão de pontos no plano e no espaço.
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        for (int dimensao = 2; dimensao <= 3; dimensao++) {
+            double[] grandes = new double[dimensao * n];
+            for (int i = 0; i < grandes.length; i++) {
+                grandes[i] = aleatorio.nextDouble();
+            }
+            long inicio = System.nanoTime();
+            AGMEuclidiana euclidiana = new AGMEuclidiana(grandes, dimensao);
+            double montagem = (System.nanoTime() - inicio) / 1e6;
+            int[] arestas = euclidiana.calcular();
+            System.out.printf("%d pontos em %dD: k-d tree %.1f ms, AGM %.1f ms (%d rodadas), %d arestas, comprimento %.3f\n",
+                    n, dimensao, montagem, (System.nanoTime() - inicio) / 1e6 - montagem, euclidiana.getRodadas(),
+                    arestas.length / 2, euclidiana.comprimento(grandes, arestas));
+        }
+    }
+}
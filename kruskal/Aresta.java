@@ -0,0 +1,21 @@
+package kruskal;
+
+// =================================================================================================
+// Classes base (Aresta) - Reutilizada do seu código
+// =================================================================================================
+class Aresta implements Comparable<Aresta> {
+    int u, v, peso; // u e v são os vértices que a aresta conecta, peso é o custo.
+
+    Aresta(int u, int v, int peso) {
+        this.u = u;
+        this.v = v;
+        this.peso = peso;
+    }
+
+    @Override
+    public int compareTo(Aresta o) {
+        // Compara arestas com base em seus pesos para ordenação.
+        // Complexidade: O(1).
+        return Integer.compare(this.peso, o.peso);
+    }
+}
@@ -0,0 +1,166 @@
+package kruskal;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+// =================================================================================================
+// Algoritmo de Borůvka em paralelo
+// =================================================================================================
+
+/**
+ * Árvore Geradora Mínima por Borůvka. A cada rodada:
+ *
+ * 1. Para cada componente, acha a aresta mais leve que sai dela. As arestas são
+ *    percorridas em paralelo e o mínimo de cada componente é um compare-and-set
+ *    sobre a chave empacotada (peso << 32 | índice) num AtomicLongArray. O
+ *    índice desempata pesos iguais, então as arestas escolhidas nunca formam ciclo.
+ * 2. Une as componentes pelas arestas escolhidas, em paralelo, no
+ *    UnionFindConcorrente. Duas componentes podem escolher a mesma aresta; só
+ *    uma das chamadas a unir retorna true, então a aresta entra uma vez.
+ * 3. Reetiqueta os vértices com a raiz da sua componente e descarta as arestas
+ *    que ficaram internas, ambos em paralelo.
+ *
+ * O número de componentes pelo menos cai pela metade a cada rodada, então são
+ * no máximo log V rodadas, e todo o trabalho de cada uma é dividido entre as threads.
+ */
+public class BoruvkaParalelo {
+
+    private static final long NENHUMA = Long.MAX_VALUE;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * @param threads Número de threads do pool.
+     */
+    public BoruvkaParalelo(int threads) {
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * Encerra as threads do pool.
+     */
+    public void encerrar() {
+        pool.shutdown();
+    }
+
+    /**
+     * Encontra a Árvore Geradora Mínima (ou floresta, se o grafo for desconexo).
+     *
+     * @param n       O número de vértices.
+     * @param arestas As arestas do grafo.
+     * @return Os índices das arestas da AGM (a mesma de KruskalPrimitivo, já que
+     *         os empates são desfeitos pelo índice nos dois).
+     *         Complexidade: O((A + V) log V / P) com P threads.
+     */
+    public int[] boruvka(int n, ListaArestas arestas) {
+        try {
+            // Streams paralelos executados de dentro do pool usam as threads dele.
+            return pool.submit(() -> executar(n, arestas)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private int[] executar(int n, ListaArestas arestas) {
+        UnionFindConcorrente uf = new UnionFindConcorrente(n);
+        int[] componente = IntStream.range(0, n).toArray();
+        int[] ativas = IntStream.range(0, arestas.tamanho())
+                .filter(id -> arestas.u(id) != arestas.v(id))
+                .toArray();
+        int[] raizes = IntStream.range(0, n).toArray();
+        AtomicLongArray melhor = new AtomicLongArray(n);
+        int[] arvore = new int[Math.max(n - 1, 0)];
+        int tamanho = 0;
+
+        while (ativas.length > 0) {
+            // 1. Aresta mais leve saindo de cada componente.
+            IntStream.of(raizes).parallel().forEach(c -> melhor.set(c, NENHUMA));
+            IntStream.of(ativas).parallel().forEach(id -> {
+                long chave = KruskalPrimitivo.empacotar(arestas.peso(id), id);
+                minimoAtomico(melhor, componente[arestas.u(id)], chave);
+                minimoAtomico(melhor, componente[arestas.v(id)], chave);
+            });
+
+            // 2. Uniões.
+            int[] escolhidas = IntStream.of(raizes).parallel()
+                    .map(c -> {
+                        long chave = melhor.get(c);
+                        if (chave == NENHUMA) {
+                            return -1;
+                        }
+                        int id = (int) chave;
+                        return uf.unir(arestas.u(id), arestas.v(id)) ? id : -1;
+                    })
+                    .filter(id -> id >= 0)
+                    .toArray();
+            System.arraycopy(escolhidas, 0, arvore, tamanho, escolhidas.length);
+            tamanho += escolhidas.length;
+
+            // 3. Reetiqueta e descarta as arestas internas.
+            IntStream.range(0, n).parallel().forEach(v -> componente[v] = uf.find(v));
+            raizes = IntStream.of(raizes).parallel().filter(c -> componente[c] == c).toArray();
+            ativas = IntStream.of(ativas).parallel()
+                    .filter(id -> componente[arestas.u(id)] != componente[arestas.v(id)])
+                    .toArray();
+        }
+        return tamanho == arvore.length ? arvore : Arrays.copyOf(arvore, tamanho);
+    }
+
+    private static void minimoAtomico(AtomicLongArray melhor, int c, long chave) {
+        long atual = melhor.get(c);
+        while (chave < atual && !melhor.compareAndSet(c, atual, chave)) {
+            atual = melhor.get(c);
+        }
+    }
+
+    public static void main(String[] args) {
+        // Mesmo exemplo do Kruskal.main.
+        ListaArestas exemplo = new ListaArestas();
+        exemplo.adicionar(0, 1, 10);
+        exemplo.adicionar(0, 2, 6);
+        exemplo.adicionar(0, 3, 5);
+        exemplo.adicionar(1, 3, 15);
+        exemplo.adicionar(2, 3, 4);
+        BoruvkaParalelo pequeno = new BoruvkaParalelo(2);
+        int[] arvore = pequeno.boruvka(4, exemplo);
+        pequeno.encerrar();
+        System.out.print("Arestas da AGM (Borůvka): ");
+        for (int id : arvore) {
+            System.out.printf("(%d, %d, %d) ", exemplo.u(id), exemplo.v(id), exemplo.peso(id));
+        }
+        System.out.println("\nPeso total: " + exemplo.pesoTotal(arvore));
+
+        // Relatório de escalabilidade num grafo aleatório grande.
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int m = 8 * n;
+        Random aleatorio = new Random(23);
+        ListaArestas arestas = new ListaArestas(m);
+        for (int i = 0; i < m; i++) {
+            arestas.adicionar(aleatorio.nextInt(n), aleatorio.nextInt(n), aleatorio.nextInt(1_000_000));
+        }
+        long inicio = System.nanoTime();
+        long esperado = arestas.pesoTotal(new KruskalPrimitivo().kruskal(n, arestas, KruskalPrimitivo.Ordenacao.RADIX));
+        System.out.printf("\n%d vértices, %d arestas. KruskalPrimitivo (RADIX): %.1f ms, peso %d\n", n, m,
+                (System.nanoTime() - inicio) / 1e6, esperado);
+
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1;; threads = Math.min(threads * 2, maxThreads)) {
+            BoruvkaParalelo boruvka = new BoruvkaParalelo(threads);
+            inicio = System.nanoTime();
+            long peso = arestas.pesoTotal(boruvka.boruvka(n, arestas));
+            double tempo = (System.nanoTime() - inicio) / 1e6;
+            boruvka.encerrar();
+            System.out.printf("%2d thread(s): %.1f ms, peso %d%s\n", threads, tempo, peso,
+                    peso == esperado ? "" : " (DIVERGIU do Kruskal)");
+            if (threads == maxThreads) {
+                break;
+            }
+        }
+    }
+}
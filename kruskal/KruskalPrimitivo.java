@@ -0,0 +1,403 @@
+package kruskal;
+
+import java.util.*;
+
+// =================================================================================================
+// Kruskal com as arestas ordenadas como chaves long primitivas
+// =================================================================================================
+
+/**
+ * Mesmo algoritmo do Kruskal.kruskal, mas sem ordenar objetos: cada aresta
+ * vira um long com o peso nos 32 bits altos e o índice da aresta nos 32 bits
+ * baixos. Ordenar esses longs ordena as arestas por peso (empates pelo índice),
+ * e o índice recupera as pontas nos vetores da ListaArestas.
+ *
+ * Duas ordenações:
+ * - PARALELA: Arrays.parallelSort (merge sort paralelo do Fork/Join).
+ * - RADIX:    radix sort LSD de 8 bits, só sobre os 32 bits do peso. Como as
+ *             chaves começam em ordem de índice e o LSD é estável, os empates
+ *             já saem ordenados pelo índice. Passadas em que todas as chaves
+ *             têm o mesmo byte são puladas.
+ */
+public class KruskalPrimitivo {
+
+    public enum Ordenacao {
+        PARALELA,
+        RADIX
+    }
+
+    /**
+     * Resultado de kruskalComFiltro e kruskalComHeap: a árvore e quanto do
+     * trabalho de ordenar todas as chaves a execução chegou a fazer.
+     */
+    public static final class Resultado {
+        public final int[] arvore;          // Índices das arestas da AGM, em ordem crescente de peso.
+        public final long chavesOrdenadas;  // Chaves ordenadas nas folhas do Filter-Kruskal (0 no heap).
+        public final long chavesExtraidas;  // Chaves extraídas do heap (0 no Filter-Kruskal).
+
+        Resultado(int[] arvore, long chavesOrdenadas, long chavesExtraidas) {
+            this.arvore = arvore;
+            this.chavesOrdenadas = chavesOrdenadas;
+            this.chavesExtraidas = chavesExtraidas;
+        }
+    }
+
+    /**
+     * Encontra a Árvore Geradora Mínima (ou floresta, se o grafo for desconexo).
+     *
+     * @param n         O número de vértices.
+     * @param arestas   As arestas do grafo.
+     * @param ordenacao Como ordenar as chaves.
+     * @return Os índices (em 'arestas') das arestas da AGM, em ordem crescente de peso.
+     *         Complexidade: O(A log A / P) com a ordenação paralela, O(A) com o
+     *         radix, mais O(A α(V)) do Union-Find.
+     */
+    public int[] kruskal(int n, ListaArestas arestas, Ordenacao ordenacao) {
+        long[] chaves = chavesOrdenadas(arestas, ordenacao);
+
+        UnionFind uf = new UnionFind(n);
+        int[] arvore = new int[Math.max(n - 1, 0)];
+        int tamanho = 0;
+        for (int k = 0; k < chaves.length && tamanho < n - 1; k++) {
+            int id = (int) chaves[k];
+            int ru = uf.find(arestas.u(id));
+            int rv = uf.find(arestas.v(id));
+            if (ru != rv) {
+                uf.union(ru, rv);
+                arvore[tamanho++] = id;
+            }
+        }
+        return tamanho == arvore.length ? arvore : Arrays.copyOf(arvore, tamanho);
+    }
+
+    // =============================================================================================
+    // Filter-Kruskal
+    // =============================================================================================
+
+    // Abaixo deste tamanho o trecho é simplesmente ordenado.
+    private static final int LIMIAR_FILTRO = 1024;
+
+    /**
+     * Filter-Kruskal (Osipov, Sanders e Singler): em vez de ordenar todas as
+     * arestas, particiona as chaves em torno de um pivô, resolve primeiro a
+     * metade leve e, antes de descer na metade pesada, descarta as arestas
+     * cujas pontas já estão no mesmo conjunto do Union-Find. Em grafos densos
+     * a maior parte das arestas pesadas é descartada sem nunca ser ordenada.
+     *
+     * @param n       O número de vértices.
+     * @param arestas As arestas do grafo.
+     * @return A AGM (a mesma árvore de kruskal, pois os empates também são
+     *         desfeitos pelo índice) e quantas chaves chegaram a ser ordenadas.
+     *         Complexidade: O(A + V log V log(A / V)) esperado.
+     */
+    public Resultado kruskalComFiltro(int n, ListaArestas arestas) {
+        long[] chaves = new long[arestas.tamanho()];
+        for (int i = 0; i < chaves.length; i++) {
+            chaves[i] = empacotar(arestas.peso(i), i);
+        }
+        ExecucaoFiltro execucao = new ExecucaoFiltro(n, arestas);
+        execucao.filtrarKruskal(chaves, 0, chaves.length);
+        return new Resultado(Arrays.copyOf(execucao.arvore, execucao.tamanho), execucao.chavesOrdenadas, 0);
+    }
+
+    // =============================================================================================
+    // Kruskal com heap construído de baixo para cima
+    // =============================================================================================
+
+    /**
+     * Em vez de ordenar todas as arestas, monta um min-heap das chaves em O(A)
+     * (o buildMaxHeap do HeapSortIgnorandoZero, com o índice 0 ignorado e a
+     * comparação invertida) e extrai as arestas em ordem crescente só até a
+     * árvore ficar completa. Se a AGM usa só as arestas mais leves, as
+     * extrações pesadas (O(log A) cada) nunca acontecem.
+     *
+     * @param n       O número de vértices.
+     * @param arestas As arestas do grafo.
+     * @return A AGM (a mesma árvore de kruskal, com os empates desfeitos pelo
+     *         índice) e quantas chaves foram extraídas do heap.
+     *         Complexidade: O(A + k log A), onde k é o número de chaves extraídas.
+     */
+    public Resultado kruskalComHeap(int n, ListaArestas arestas) {
+        int m = arestas.tamanho();
+        long[] heap = new long[m + 1]; // heap[0] não é usado.
+        for (int i = 0; i < m; i++) {
+            heap[i + 1] = empacotar(arestas.peso(i), i);
+        }
+        buildMinHeap(heap, m);
+
+        UnionFind uf = new UnionFind(n);
+        int[] arvore = new int[Math.max(n - 1, 0)];
+        int tamanho = 0;
+        int heapSize = m;
+        while (heapSize > 0 && tamanho < n - 1) {
+            int id = (int) heap[1];
+            heap[1] = heap[heapSize--];
+            minHeapify(heap, 1, heapSize);
+            int ru = uf.find(arestas.u(id));
+            int rv = uf.find(arestas.v(id));
+            if (ru != rv) {
+                uf.union(ru, rv);
+                arvore[tamanho++] = id;
+            }
+        }
+        int[] resultado = tamanho == arvore.length ? arvore : Arrays.copyOf(arvore, tamanho);
+        return new Resultado(resultado, 0, m - heapSize);
+    }
+
+    /**
+     * Constrói um Min-Heap (base 1) aplicando o heapify de baixo para cima, a
+     * partir do último nó que tem filho.
+     * Complexidade: O(A).
+     */
+    static void buildMinHeap(long[] A, int heapSize) {
+        for (int i = heapSize / 2; i >= 1; i--) {
+            minHeapify(A, i, heapSize);
+        }
+    }
+
+    // Desce A[i] até o lugar certo (iterativo, escrevendo cada chave uma vez só).
+    private static void minHeapify(long[] A, int i, int heapSize) {
+        long chave = A[i];
+        while (2 * i <= heapSize) {
+            int menor = 2 * i;
+            if (menor + 1 <= heapSize && A[menor + 1] < A[menor]) {
+                menor++;
+            }
+            if (A[menor] >= chave) {
+                break;
+            }
+            A[i] = A[menor];
+            i = menor;
+        }
+        A[i] = chave;
+    }
+
+    /**
+     * Estado de uma execução do Filter-Kruskal.
+     */
+    private static final class ExecucaoFiltro {
+        final ListaArestas arestas;
+        final UnionFind uf;
+        final int[] arvore;
+        final Random aleatorio = new Random(1);
+        int tamanho;
+        long chavesOrdenadas;
+
+        ExecucaoFiltro(int n, ListaArestas arestas) {
+            this.arestas = arestas;
+            this.uf = new UnionFind(n);
+            this.arvore = new int[Math.max(n - 1, 0)];
+        }
+
+        boolean completa() {
+            return tamanho == arvore.length;
+        }
+
+        // Processa as chaves de [inicio, fim).
+        void filtrarKruskal(long[] chaves, int inicio, int fim) {
+            if (completa() || inicio >= fim) {
+                return;
+            }
+            if (fim - inicio <= LIMIAR_FILTRO) {
+                Arrays.sort(chaves, inicio, fim);
+                chavesOrdenadas += fim - inicio;
+                for (int k = inicio; k < fim && !completa(); k++) {
+                    unir((int) chaves[k]);
+                }
+                return;
+            }
+            // As chaves são distintas (contêm o índice), então a mediana de três
+            // chaves não é nem a menor nem a maior e as duas partes ficam não vazias.
+            long pivo = medianaDeTres(chaves, inicio, fim);
+            int meio = particionar(chaves, inicio, fim, pivo);
+            filtrarKruskal(chaves, inicio, meio);
+            if (completa()) {
+                return;
+            }
+            int fimFiltrado = filtrar(chaves, meio, fim);
+            filtrarKruskal(chaves, meio, fimFiltrado);
+        }
+
+        private void unir(int id) {
+            int ru = uf.find(arestas.u(id));
+            int rv = uf.find(arestas.v(id));
+            if (ru != rv) {
+                uf.union(ru, rv);
+                arvore[tamanho++] = id;
+            }
+        }
+
+        // Coloca as chaves <= pivo no começo; retorna onde começam as maiores.
+        private int particionar(long[] chaves, int inicio, int fim, long pivo) {
+            int i = inicio;
+            for (int k = inicio; k < fim; k++) {
+                if (chaves[k] <= pivo) {
+                    long tmp = chaves[i];
+                    chaves[i++] = chaves[k];
+                    chaves[k] = tmp;
+                }
+            }
+            return i;
+        }
+
+        // Mantém só as arestas que ainda ligam componentes diferentes; retorna o novo fim.
+        private int filtrar(long[] chaves, int inicio, int fim) {
+            int j = inicio;
+            for (int k = inicio; k < fim; k++) {
+                int id = (int) chaves[k];
+                if (uf.find(arestas.u(id)) != uf.find(arestas.v(id))) {
+                    chaves[j++] = chaves[k];
+                }
+            }
+            return j;
+        }
+
+        private long medianaDeTres(long[] chaves, int inicio, int fim) {
+            int tamanho = fim - inicio;
+            // Três posições distintas a partir de um deslocamento aleatório.
+            int r = aleatorio.nextInt(tamanho);
+            long a = chaves[inicio + r];
+            long b = chaves[inicio + (r + tamanho / 3) % tamanho];
+            long c = chaves[inicio + (r + 2 * (tamanho / 3)) % tamanho];
+            return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+        }
+    }
+
+    /**
+     * Monta as chaves (peso << 32 | índice) e as ordena.
+     * Complexidade: a da ordenação escolhida.
+     */
+    static long[] chavesOrdenadas(ListaArestas arestas, Ordenacao ordenacao) {
+        int m = arestas.tamanho();
+        long[] chaves = new long[m];
+        for (int i = 0; i < m; i++) {
+            chaves[i] = empacotar(arestas.peso(i), i);
+        }
+        if (ordenacao == Ordenacao.PARALELA) {
+            Arrays.parallelSort(chaves);
+        } else {
+            radixPorPeso(chaves);
+        }
+        return chaves;
+    }
+
+    static long empacotar(int peso, int id) {
+        return ((long) peso << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Radix sort LSD estável pelos 32 bits altos (o peso, com sinal).
+     * Complexidade: O(4 * (A + 256)).
+     */
+    static void radixPorPeso(long[] chaves) {
+        long[] origem = chaves;
+        long[] destino = new long[chaves.length];
+        int[] contagem = new int[257];
+        for (int deslocamento = 32; deslocamento < 64; deslocamento += 8) {
+            Arrays.fill(contagem, 0);
+            // No último byte o bit de sinal é invertido, para negativos virem antes.
+            int inverter = deslocamento == 56 ? 0x80 : 0;
+            for (long chave : origem) {
+                contagem[(((int) (chave >>> deslocamento) & 0xFF) ^ inverter) + 1]++;
+            }
+            if (passadaInutil(contagem, origem.length)) {
+                continue;
+            }
+            for (int b = 0; b < 256; b++) {
+                contagem[b + 1] += contagem[b];
+            }
+            for (long chave : origem) {
+                destino[contagem[((int) (chave >>> deslocamento) & 0xFF) ^ inverter]++] = chave;
+            }
+            long[] tmp = origem;
+            origem = destino;
+            destino = tmp;
+        }
+        if (origem != chaves) {
+            System.arraycopy(origem, 0, chaves, 0, chaves.length);
+        }
+    }
+
+    // Todas as chaves caíram no mesmo balde: a passada não mudaria nada.
+    private static boolean passadaInutil(int[] contagem, int total) {
+        for (int b = 1; b <= 256; b++) {
+            if (contagem[b] == total) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void main(String[] args) {
+        // Mesmo exemplo do Kruskal.main.
+        ListaArestas exemplo = new ListaArestas();
+        exemplo.adicionar(0, 1, 10);
+        exemplo.adicionar(0, 2, 6);
+        exemplo.adicionar(0, 3, 5);
+        exemplo.adicionar(1, 3, 15);
+        exemplo.adicionar(2, 3, 4);
+        KruskalPrimitivo kp = new KruskalPrimitivo();
+        for (Ordenacao o : Ordenacao.values()) {
+            int[] arvore = kp.kruskal(4, exemplo, o);
+            System.out.print("Arestas da AGM (" + o + "): ");
+            for (int id : arvore) {
+                System.out.printf("(%d, %d, %d) ", exemplo.u(id), exemplo.v(id), exemplo.peso(id));
+            }
+            System.out.println("\nPeso total: " + exemplo.pesoTotal(arvore));
+        }
+
+        // Grafo aleatório grande: tempo total de cada versão.
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int m = 8 * n;
+        Random aleatorio = new Random(17);
+        ListaArestas arestas = new ListaArestas(m);
+        List<Aresta> objetos = new ArrayList<>(m);
+        for (int i = 0; i < m; i++) {
+            int a = aleatorio.nextInt(n);
+            int b = aleatorio.nextInt(n);
+            int p = aleatorio.nextInt(1_000_000);
+            arestas.adicionar(a, b, p);
+            objetos.add(new Aresta(a, b, p));
+        }
+        System.out.printf("\n%d vértices, %d arestas:\n", n, m);
+
+        long inicio = System.nanoTime();
+        long pesoObjetos = 0;
+        for (Aresta a : new Kruskal().kruskal(n, objetos)) {
+            pesoObjetos += a.peso;
+        }
+        System.out.printf("Kruskal.kruskal (Collections.sort): %.1f ms, peso %d\n",
+                (System.nanoTime() - inicio) / 1e6, pesoObjetos);
+        for (Ordenacao o : Ordenacao.values()) {
+            inicio = System.nanoTime();
+            long peso = arestas.pesoTotal(kp.kruskal(n, arestas, o));
+            System.out.printf("KruskalPrimitivo (%s): %.1f ms, peso %d\n", o, (System.nanoTime() - inicio) / 1e6, peso);
+        }
+        inicio = System.nanoTime();
+        Resultado filtro = kp.kruskalComFiltro(n, arestas);
+        System.out.printf("Filter-Kruskal: %.1f ms, peso %d, %d de %d chaves ordenadas\n",
+                (System.nanoTime() - inicio) / 1e6, arestas.pesoTotal(filtro.arvore), filtro.chavesOrdenadas, m);
+        inicio = System.nanoTime();
+        Resultado heap = kp.kruskalComHeap(n, arestas);
+        System.out.printf("Kruskal com heap: %.1f ms, peso %d, %d de %d chaves extraídas\n",
+                (System.nanoTime() - inicio) / 1e6, arestas.pesoTotal(heap.arvore), heap.chavesExtraidas, m);
+        // AGM só com arestas leves: um caminho 0-1-...-n-1 de pesos < 1000 e o
+        // resto das arestas com pesos >= 1000. O heap para depois das n-1
+        // arestas do caminho; a ordenação completa ordena as 8n.
+        ListaArestas leves = new ListaArestas(m);
+        for (int v = 1; v < n; v++) {
+            leves.adicionar(v - 1, v, aleatorio.nextInt(1000));
+        }
+        while (leves.tamanho() < m) {
+            leves.adicionar(aleatorio.nextInt(n), aleatorio.nextInt(n), 1000 + aleatorio.nextInt(1_000_000));
+        }
+        System.out.println("\nMesmo tamanho, AGM só com as arestas leves:");
+        inicio = System.nanoTime();
+        long pesoRadix = leves.pesoTotal(kp.kruskal(n, leves, Ordenacao.RADIX));
+        System.out.printf("KruskalPrimitivo (RADIX): %.1f ms, peso %d\n", (System.nanoTime() - inicio) / 1e6, pesoRadix);
+        inicio = System.nanoTime();
+        heap = kp.kruskalComHeap(n, leves);
+        System.out.printf("Kruskal com heap: %.1f ms, peso %d, %d de %d chaves extraídas\n",
+                (System.nanoTime() - inicio) / 1e6, leves.pesoTotal(heap.arvore), heap.chavesExtraidas, m);
+    }
+}
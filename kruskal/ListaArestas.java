@@ -0,0 +1,92 @@
+package kruskal;
+
+import java.util.Arrays;
+import java.util.List;
+
+// =================================================================================================
+// Lista de arestas não direcionadas em vetores primitivos
+// =================================================================================================
+
+/**
+ * Arestas guardadas em três vetores paralelos (u[], v[] e peso[]) em vez de
+ * um objeto Aresta por aresta: 12 bytes por aresta, sem ponteiros, e a aresta
+ * i é identificada só pelo seu índice. É a entrada das variantes do Kruskal
+ * que ordenam chaves primitivas.
+ */
+public final class ListaArestas {
+    private int[] u;
+    private int[] v;
+    private int[] peso;
+    private int tamanho;
+
+    public ListaArestas() {
+        this(16);
+    }
+
+    /**
+     * @param capacidade Estimativa do número de arestas (evita realocações).
+     */
+    public ListaArestas(int capacidade) {
+        int c = Math.max(capacidade, 1);
+        u = new int[c];
+        v = new int[c];
+        peso = new int[c];
+    }
+
+    /**
+     * Copia uma lista de objetos Aresta (a entrada do Kruskal.kruskal).
+     * Complexidade: O(A).
+     */
+    static ListaArestas de(List<Aresta> arestas) {
+        ListaArestas lista = new ListaArestas(arestas.size());
+        for (Aresta a : arestas) {
+            lista.adicionar(a.u, a.v, a.peso);
+        }
+        return lista;
+    }
+
+    /**
+     * Adiciona a aresta {a, b} e retorna o seu índice.
+     * Complexidade: O(1) amortizado.
+     */
+    public int adicionar(int a, int b, int p) {
+        if (tamanho == u.length) {
+            int novaCapacidade = u.length * 2;
+            u = Arrays.copyOf(u, novaCapacidade);
+            v = Arrays.copyOf(v, novaCapacidade);
+            peso = Arrays.copyOf(peso, novaCapacidade);
+        }
+        u[tamanho] = a;
+        v[tamanho] = b;
+        peso[tamanho] = p;
+        return tamanho++;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public int u(int i) {
+        return u[i];
+    }
+
+    public int v(int i) {
+        return v[i];
+    }
+
+    public int peso(int i) {
+        return peso[i];
+    }
+
+    /**
+     * Soma dos pesos das arestas com os índices informados.
+     * Complexidade: O(tamanho de ids).
+     */
+    public long pesoTotal(int[] ids) {
+        long total = 0;
+        for (int id : ids) {
+            total += peso[id];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,157 @@
+package kruskal;
+
+import dijkstra.GrafoCSR;
+import dijkstra.IndexedMinHeap;
+import java.util.*;
+
+// =================================================================================================
+// Prim com heap indexado e grafo em vetores primitivos
+// =================================================================================================
+
+/**
+ * Mesmo algoritmo do Kruskal.prim, sem objetos no laço principal:
+ *
+ * - O grafo é um GrafoCSR (cada aresta não direcionada vira duas direcionadas),
+ *   em vez de List<List<Aresta>>.
+ * - A fila é o IndexedMinHeap d-ário do pacote dijkstra: cada vértice aparece
+ *   no máximo uma vez e uma chave menor é um DECREASE-KEY, em vez de um novo
+ *   Pair na PriorityQueue. O heap nunca passa de V elementos e não existem
+ *   entradas obsoletas para descartar.
+ *
+ * O heap e o vetor de visitados são criados uma vez no construtor e reusados
+ * entre execuções; pai[] e pesoPai[] vêm de quem chama. Assim prim() não aloca nada.
+ */
+public class PrimIndexado {
+
+    private final IndexedMinHeap heap;
+    private final boolean[] naArvore;
+
+    /**
+     * @param n       O número de vértices dos grafos que serão processados.
+     * @param aridade Aridade do heap (4 costuma ser melhor que 2: o
+     *                DECREASE-KEY, que domina no Prim, sobe menos níveis).
+     */
+    public PrimIndexado(int n, int aridade) {
+        this.heap = new IndexedMinHeap(n, aridade);
+        this.naArvore = new boolean[n];
+    }
+
+    public PrimIndexado(int n) {
+        this(n, 4);
+    }
+
+    /**
+     * Monta o GrafoCSR não direcionado (as duas direções de cada aresta).
+     * Complexidade: O(V + A).
+     */
+    public static GrafoCSR paraCSR(int n, ListaArestas arestas) {
+        GrafoCSR.Construtor construtor = new GrafoCSR.Construtor(n, 2 * arestas.tamanho());
+        for (int i = 0; i < arestas.tamanho(); i++) {
+            construtor.adicionarAresta(arestas.u(i), arestas.v(i), arestas.peso(i));
+            construtor.adicionarAresta(arestas.v(i), arestas.u(i), arestas.peso(i));
+        }
+        return construtor.construir(false);
+    }
+
+    /**
+     * Encontra a AGM da componente que contém 'origem'.
+     *
+     * @param g       Grafo não direcionado (cada aresta nas duas direções).
+     * @param origem  Vértice inicial.
+     * @param pai     Saída: pai[v] na AGM, ou -1 para a origem e para os
+     *                vértices fora da componente.
+     * @param pesoPai Saída: peso da aresta (pai[v], v).
+     * @return O peso total da árvore.
+     *         Complexidade: O(V + A log_d V) com o heap d-ário, com O(V) de memória no heap.
+     */
+    public long prim(GrafoCSR g, int origem, int[] pai, int[] pesoPai) {
+        int n = g.quantidadeVertices();
+        Arrays.fill(pai, 0, n, -1);
+        Arrays.fill(naArvore, 0, n, false);
+        heap.clear();
+
+        long total = 0;
+        heap.insert(origem, 0);
+        while (!heap.isEmpty()) {
+            long chave = heap.chave(heap.topo());
+            int u = heap.extractMin();
+            naArvore[u] = true;
+            if (pai[u] != -1) {
+                pesoPai[u] = (int) chave;
+                total += chave;
+            }
+            for (int e = g.inicio(u), fim = g.fim(u); e < fim; e++) {
+                int v = g.destino(e);
+                if (!naArvore[v] && heap.insertOrDecreaseKey(v, g.peso(e))) {
+                    pai[v] = u;
+                }
+            }
+        }
+        return total;
+    }
+
+    public int getTamanhoMaximoHeap() {
+        return heap.getTamanhoMaximo();
+    }
+
+    public static void main(String[] args) {
+        // Mesmo exemplo do Kruskal.main.
+        ListaArestas exemplo = new ListaArestas();
+        exemplo.adicionar(0, 1, 10);
+        exemplo.adicionar(0, 2, 6);
+        exemplo.adicionar(0, 3, 5);
+        exemplo.adicionar(1, 3, 15);
+        exemplo.adicionar(2, 3, 4);
+        int[] pai = new int[4];
+        int[] pesoPai = new int[4];
+        long peso = new PrimIndexado(4).prim(paraCSR(4, exemplo), 0, pai, pesoPai);
+        System.out.print("Arestas da AGM (PrimIndexado): ");
+        for (int v = 0; v < 4; v++) {
+            if (pai[v] != -1) {
+                System.out.printf("(%d, %d, %d) ", pai[v], v, pesoPai[v]);
+            }
+        }
+        System.out.println("\nPeso total: " + peso);
+
+        // Grafo aleatório conexo (um caminho 0-1-...-n-1 mais arestas ao acaso),
+        // comparado ao Kruskal.prim com PriorityQueue de Pair.
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int m = 8 * n;
+        Random aleatorio = new Random(29);
+        ListaArestas arestas = new ListaArestas(m);
+        for (int v = 1; v < n; v++) {
+            arestas.adicionar(v - 1, v, aleatorio.nextInt(1_000_000));
+        }
+        while (arestas.tamanho() < m) {
+            arestas.adicionar(aleatorio.nextInt(n), aleatorio.nextInt(n), aleatorio.nextInt(1_000_000));
+        }
+        List<List<Aresta>> adjacencias = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            adjacencias.add(new ArrayList<>());
+        }
+        for (int i = 0; i < m; i++) {
+            adjacencias.get(arestas.u(i)).add(new Aresta(arestas.u(i), arestas.v(i), arestas.peso(i)));
+            adjacencias.get(arestas.v(i)).add(new Aresta(arestas.v(i), arestas.u(i), arestas.peso(i)));
+        }
+        System.out.printf("\n%d vértices, %d arestas:\n", n, m);
+
+        long inicio = System.nanoTime();
+        long pesoPQ = 0;
+        for (Aresta a : new Kruskal().prim(n, adjacencias, 0)) {
+            pesoPQ += a.peso;
+        }
+        System.out.printf("Kruskal.prim (PriorityQueue<Pair>): %.1f ms, peso %d\n",
+                (System.nanoTime() - inicio) / 1e6, pesoPQ);
+
+        GrafoCSR g = paraCSR(n, arestas);
+        pai = new int[n];
+        pesoPai = new int[n];
+        for (int aridade : new int[] { 2, 4, 8 }) {
+            PrimIndexado prim = new PrimIndexado(n, aridade);
+            inicio = System.nanoTime();
+            peso = prim.prim(g, 0, pai, pesoPai);
+            System.out.printf("PrimIndexado (aridade %d): %.1f ms, peso %d, heap máximo %d\n", aridade,
+                    (System.nanoTime() - inicio) / 1e6, peso, prim.getTamanhoMaximoHeap());
+        }
+    }
+}
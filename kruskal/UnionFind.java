@@ -0,0 +1,73 @@
+package kruskal;
+
+// =================================================================================================
+// Exercício 1: UnionFind aprimorado com Path Compression e Union By Rank
+// =================================================================================================
+class UnionFind {
+    int[] representantes; // Armazena o pai de cada elemento.
+    int[] rank;           // Armazena o rank (altura aproximada) de cada raiz.
+
+    /**
+     * Construtor do UnionFind.
+     *
+     * @param n O número total de elementos (vértices).
+     * Complexidade: O(n) para inicializar os arrays.
+     */
+    public UnionFind(int n) {
+        representantes = new int[n];
+        rank = new int[n];
+        // Cada elemento é inicialmente seu próprio representante e tem rank 0.
+        for (int i = 0; i < n; i++) {
+            representantes[i] = i;
+            rank[i] = 0;
+        }
+    }
+
+    /**
+     * Encontra o representante do conjunto ao qual 'x' pertence.
+     * Implementa a compressão de caminho por "halving": ao subir, cada elemento
+     * visitado passa a apontar para o avô. É iterativa (sem risco de estouro de
+     * pilha em caminhos longos) e tem a mesma complexidade da compressão completa.
+     *
+     * @param x O elemento cujo representante se deseja encontrar.
+     * @return O representante (raiz) do conjunto de 'x'.
+     * Complexidade: Quase constante (amortizada O(α(N)), onde α é o inverso da função de Ackermann),
+     * na prática, é extremamente rápida, quase O(1).
+     */
+    public int find(int x) {
+        while (representantes[x] != x) {
+            // Pula um nível: x passa a apontar para o avô e sobe até ele.
+            representantes[x] = representantes[representantes[x]];
+            x = representantes[x];
+        }
+        return x;
+    }
+
+    /**
+     * Une os conjuntos que contêm 'x' e 'y'.
+     * Implementa a otimização Union By Rank.
+     *
+     * @param x Um elemento do primeiro conjunto.
+     * @param y Um elemento do segundo conjunto.
+     * Complexidade: Quase constante (amortizada O(α(N))).
+     */
+    public void union(int x, int y) {
+        int rX = find(x); // Encontra o representante de 'x'.
+        int rY = find(y); // Encontra o representante de 'y'.
+
+        // Se já estão no mesmo conjunto, não há nada a fazer.
+        if (rX != rY) {
+            // Anexa a árvore com menor rank à árvore com maior rank.
+            // Isso ajuda a manter as árvores mais rasas.
+            if (rank[rX] < rank[rY]) {
+                representantes[rX] = rY;
+            } else if (rank[rY] < rank[rX]) {
+                representantes[rY] = rX;
+            } else {
+                // Se os ranks são iguais, anexa um ao outro e incrementa o rank da nova raiz.
+                representantes[rY] = rX;
+                rank[rX]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package kruskal;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+// =================================================================================================
+// Union-Find sem travas, para uso por várias threads
+// =================================================================================================
+
+/**
+ * Union-Find que pode ser compartilhado entre threads sem travas: o vetor de
+ * pais é um AtomicIntegerArray e toda mudança é um compare-and-set.
+ *
+ * - find: compressão por "halving" com CAS (x passa a apontar para o avô). Se
+ *   o CAS falhar, outra thread já mudou o pai de x para algo mais alto na mesma
+ *   árvore, então basta continuar subindo.
+ * - unir: liga a raiz de menor prioridade sob a de maior com um CAS que só
+ *   funciona se ela ainda for raiz; se outra thread a ligou antes, repete.
+ *
+ * A prioridade é um embaralhamento fixo do índice (desempatado pelo índice), o
+ * que equivale a uma união por prioridade aleatória: a altura esperada das
+ * árvores é O(log n) para qualquer ordem de uniões, sem o vetor de rank (que
+ * não dá para atualizar junto com o pai num único CAS).
+ */
+public final class UnionFindConcorrente {
+    private final AtomicIntegerArray representantes;
+
+    /**
+     * @param n O número de elementos.
+     * Complexidade: O(n).
+     */
+    public UnionFindConcorrente(int n) {
+        representantes = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            representantes.set(i, i);
+        }
+    }
+
+    public int tamanho() {
+        return representantes.length();
+    }
+
+    /**
+     * Representante do conjunto de 'x'. Com outras threads unindo ao mesmo
+     * tempo, o resultado é a raiz num instante durante a chamada.
+     * Complexidade: O(log n) esperado, quase O(1) amortizado.
+     */
+    public int find(int x) {
+        int pai = representantes.get(x);
+        while (pai != x) {
+            int avo = representantes.get(pai);
+            if (avo != pai) {
+                representantes.compareAndSet(x, pai, avo);
+            }
+            x = pai;
+            pai = avo;
+        }
+        return x;
+    }
+
+    /**
+     * Une os conjuntos de 'x' e 'y'.
+     *
+     * @return true se esta chamada fez a união; false se já estavam no mesmo
+     *         conjunto. Entre várias threads unindo os mesmos dois conjuntos,
+     *         exatamente uma recebe true.
+     * Complexidade: a de dois find, mais as repetições por disputa.
+     */
+    public boolean unir(int x, int y) {
+        while (true) {
+            x = find(x);
+            y = find(y);
+            if (x == y) {
+                return false;
+            }
+            if (menorPrioridade(y, x)) {
+                int tmp = x;
+                x = y;
+                y = tmp;
+            }
+            // x tem a menor prioridade: passa a apontar para y, se ainda for raiz.
+            if (representantes.compareAndSet(x, x, y)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Diz se 'x' e 'y' estão no mesmo conjunto. Raízes diferentes só provam que
+     * não estão se a primeira ainda for raiz depois do segundo find.
+     * Complexidade: a de dois find.
+     */
+    public boolean mesmoConjunto(int x, int y) {
+        while (true) {
+            x = find(x);
+            y = find(y);
+            if (x == y) {
+                return true;
+            }
+            if (representantes.get(x) == x) {
+                return false;
+            }
+        }
+    }
+
+    private static boolean menorPrioridade(int a, int b) {
+        int pa = embaralhar(a);
+        int pb = embaralhar(b);
+        return pa < pb || (pa == pb && a < b);
+    }
+
+    // Embaralhamento bijetivo de 32 bits (o finalizador do MurmurHash3).
+    private static int embaralhar(int x) {
+        x ^= x >>> 16;
+        x *= 0x85EBCA6B;
+        x ^= x >>> 13;
+        x *= 0xC2B2AE35;
+        x ^= x >>> 16;
+        return x;
+    }
+
+    public static void main(String[] args) {
+        // Componentes conexas em paralelo, conferidas contra o UnionFind sequencial.
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int m = n;
+        Random aleatorio = new Random(31);
+        ListaArestas arestas = new ListaArestas(m);
+        for (int i = 0; i < m; i++) {
+            arestas.adicionar(aleatorio.nextInt(n), aleatorio.nextInt(n), 0);
+        }
+
+        long inicio = System.nanoTime();
+        UnionFind sequencial = new UnionFind(n);
+        for (int i = 0; i < m; i++) {
+            sequencial.union(arestas.u(i), arestas.v(i));
+        }
+        long esperadas = IntStream.range(0, n).filter(v -> sequencial.find(v) == v).count();
+        System.out.printf("%d vértices, %d arestas. UnionFind sequencial: %.1f ms, %d componentes\n", n, m,
+                (System.nanoTime() - inicio) / 1e6, esperadas);
+
+        inicio = System.nanoTime();
+        UnionFindConcorrente concorrente = new UnionFindConcorrente(n);
+        long unioes = IntStream.range(0, m).parallel()
+                .filter(i -> concorrente.unir(arestas.u(i), arestas.v(i)))
+                .count();
+        int[] rotulos = IntStream.range(0, n).parallel().map(concorrente::find).toArray();
+        long componentes = IntStream.range(0, n).filter(v -> rotulos[v] == v).count();
+        System.out.printf("UnionFindConcorrente (%d threads): %.1f ms, %d componentes (%d uniões)%s\n",
+                Runtime.getRuntime().availableProcessors(), (System.nanoTime() - inicio) / 1e6, componentes,
+                unioes, componentes == esperadas && unioes == n - esperadas ? "" : " (DIVERGIU)");
+
+        boolean confere = true;
+        for (int k = 0; k < 1000; k++) {
+            int a = aleatorio.nextInt(n);
+            int b = aleatorio.nextInt(n);
+            confere &= concorrente.mesmoConjunto(a, b) == (sequencial.find(a) == sequencial.find(b));
+        }
+        System.out.println("mesmoConjunto confere com o sequencial: " + confere);
+
+        // Caminho longo unido na pior ordem para a versão recursiva: o find
+        // iterativo sobe sem empilhar chamadas.
+        UnionFind caminho = new UnionFind(n);
+        for (int v = 1; v < n; v++) {
+            caminho.representantes[v - 1] = v; // Cadeia 0 -> 1 -> ... -> n-1, sem uniões balanceadas.
+        }
+        System.out.println("Raiz da cadeia de " + n + " elementos: " + caminho.find(0));
+    }
+}
@@ -1,130 +1,8 @@
 package menores_caminhos_de_origem_unica;
 
+import dijkstra.GrafoCSR;
 import java.util.*;
 
-/**
- * Classe que representa um Grafo direcionado com arestas ponderadas.
- * Contém classes internas para Vertice e Aresta.
- */
-class Grafo {
-
-  private final Vertice[] vertices; // Array de objetos Vertice, indexados por seu 'indice'.
-  private List<List<Aresta>> adjacencias; // Lista de listas de adjacência.
-                                          // adjacencias.get(u) retorna a lista de arestas saindo de 'u'.
-
-  /**
-   * Construtor da classe Grafo.
-   *
-   * @param nomesVertices Um array de Strings contendo os nomes dos vértices.
-   *                      A ordem desses nomes define o índice de cada vértice (0,
-   *                      1, 2...).
-   *                      Complexidade: O(V), onde V é o número de vértices, para
-   *                      inicializar as estruturas.
-   */
-  Grafo(String[] nomesVertices) {
-    this.adjacencias = new ArrayList<>(); // Inicializa a lista principal para adjacências.
-    this.vertices = new Vertice[nomesVertices.length]; // Cria o array de objetos Vertice.
-
-    // Para cada nome de vértice, cria um objeto Vertice e uma lista de adjacência
-    // vazia.
-    // Complexidade: O(V).
-    for (int i = 0; i < nomesVertices.length; i++) {
-      this.adjacencias.add(new ArrayList<>()); // Adiciona uma nova lista para as adjacências do vértice 'i'.
-      this.vertices[i] = new Vertice(nomesVertices[i], i); // Cria e armazena o objeto Vertice.
-    }
-  }
-
-  /**
-   * Adiciona uma aresta direcionada ao grafo.
-   *
-   * @param origem  O índice do vértice de origem.
-   * @param destino O índice do vértice de destino.
-   * @param peso    O peso da aresta.
-   *                Complexidade: O(1) para adicionar a aresta à lista de
-   *                adjacência.
-   */
-  public void adicionarAresta(int origem, int destino, int peso) {
-    adjacencias.get(origem).add(new Aresta(destino, peso));
-  }
-
-  /**
-   * Retorna a lista de arestas que saem de um determinado vértice.
-   *
-   * @param u O índice do vértice.
-   * @return Uma lista de objetos Aresta.
-   *         Complexidade: O(1).
-   */
-  public List<Aresta> vizinhos(int u) {
-    return adjacencias.get(u);
-  }
-
-  /**
-   * Retorna o array de todos os objetos Vertice do grafo.
-   *
-   * @return O array de Vertices.
-   *         Complexidade: O(1).
-   */
-  public Vertice[] getVertices() {
-    return vertices;
-  }
-
-  /**
-   * Retorna o número total de vértices no grafo.
-   *
-   * @return O número de vértices.
-   *         Complexidade: O(1).
-   */
-  public int quantidadeVertices() {
-    return vertices.length;
-  }
-
-  /**
-   * Classe interna que representa um vértice no grafo.
-   */
-  static class Vertice {
-    String nome; // Nome do vértice (e.g., "s", "t").
-    int indice; // Índice numérico do vértice (e.g., 0, 1, 2).
-    int distancia; // Distância estimada da fonte até este vértice.
-                   // Inicializada com Integer.MAX_VALUE.
-    Vertice predecessor; // O vértice predecessor no caminho mais curto da fonte.
-                         // Usado para reconstruir o caminho.
-
-    /**
-     * Construtor da classe Vertice.
-     *
-     * @param nome   O nome do vértice.
-     * @param indice O índice numérico do vértice.
-     *               Complexidade: O(1).
-     */
-    Vertice(String nome, int indice) {
-      this.nome = nome;
-      this.indice = indice;
-      distancia = Integer.MAX_VALUE; // Define distância inicial como "infinito".
-      predecessor = null; // Sem predecessor inicial.
-    }
-  }
-
-  /**
-   * Classe interna que representa uma aresta no grafo.
-   */
-  static class Aresta {
-    int destino; // Índice do vértice de destino da aresta.
-    int peso; // Peso (custo) da aresta.
-
-    /**
-     * Construtor da classe Aresta.
-     *
-     * @param destino O índice do vértice de destino.
-     * @param peso    O peso da aresta.
-     *                Complexidade: O(1).
-     */
-    Aresta(int destino, int peso) {
-      this.destino = destino;
-      this.peso = peso;
-    }
-  }
-}
-
 /**
  * Classe que implementa o algoritmo de Bellman-Ford para encontrar os menores
  * caminhos
@@ -200,6 +78,310 @@ public class BellmanFord {
     return true; // Retorna true se nenhum ciclo negativo foi encontrado.
   }
 
+  /**
+   * Executa o Bellman-Ford diretamente sobre um GrafoCSR.
+   * As distâncias e predecessores ficam nos vetores recebidos (nenhum objeto
+   * Vertice é alterado) e as arestas de cada vértice são lidas em sequência.
+   *
+   * @param g           O grafo em formato CSR.
+   * @param s           O índice do vértice de origem (fonte).
+   * @param distancia   Saída: distancia[v] (Integer.MAX_VALUE se não alcançável).
+   * @param predecessor Saída: predecessor[v] (-1 se não tem).
+   * @return true se não houver ciclos de peso negativo alcançáveis da fonte,
+   *         false caso contrário.
+   *         Complexidade: O(V * A).
+   */
+  public boolean executar(GrafoCSR g, int s, int[] distancia, int[] predecessor) {
+    Arrays.fill(distancia, Integer.MAX_VALUE);
+    Arrays.fill(predecessor, -1);
+    distancia[s] = 0;
+
+    int n = g.quantidadeVertices();
+    for (int i = 0; i < n - 1; i++) {
+      for (int u = 0; u < n; u++) {
+        int du = distancia[u];
+        if (du == Integer.MAX_VALUE)
+          continue;
+        for (int e = g.inicio(u), fim = g.fim(u); e < fim; e++) {
+          int v = g.destino(e);
+          if (distancia[v] > du + g.peso(e)) {
+            distancia[v] = du + g.peso(e);
+            predecessor[v] = u;
+          }
+        }
+      }
+    }
+
+    // Fase de detecção de ciclo negativo.
+    for (int u = 0; u < n; u++) {
+      int du = distancia[u];
+      if (du == Integer.MAX_VALUE)
+        continue;
+      for (int e = g.inicio(u), fim = g.fim(u); e < fim; e++) {
+        if (distancia[g.destino(e)] > du + g.peso(e)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Bellman-Ford baseado em fila (SPFA). Em vez de V-1 passadas por todas as
+   * arestas, só as arestas que saem de vértices cuja distância mudou são
+   * relaxadas de novo, e o algoritmo para assim que a fila esvazia.
+   *
+   * Detecção de ciclo negativo: cada vértice guarda quantas arestas tem o seu
+   * caminho na árvore de predecessores. Um caminho simples tem no máximo V-1
+   * arestas, então quando esse número chega a V seguimos os predecessores para
+   * confirmar o ciclo (o contador pode estar desatualizado) e, se ele existir,
+   * o exibimos com exibirCicloNegativo.
+   *
+   * @param g O grafo a ser processado.
+   * @param s O índice do vértice de origem (fonte).
+   * @return true se não houver ciclos de peso negativo alcançáveis da fonte,
+   *         false caso contrário.
+   *         Complexidade: O(V * A) no pior caso, mas em grafos com poucas
+   *         arestas negativas costuma ser próximo de O(V + A).
+   */
+  public boolean executarComFila(Grafo g, int s) {
+    inicializarFonteUnica(g, s);
+    int n = g.quantidadeVertices();
+    Grafo.Vertice[] vertices = g.getVertices();
+    int[] tamanhoCaminho = new int[n]; // Arestas do caminho até v na árvore de predecessores.
+    boolean[] naFila = new boolean[n];
+    ArrayDeque<Integer> fila = new ArrayDeque<>();
+    fila.add(s);
+    naFila[s] = true;
+
+    while (!fila.isEmpty()) {
+      Grafo.Vertice u = vertices[fila.poll()];
+      naFila[u.indice] = false;
+      for (var a : g.vizinhos(u.indice)) {
+        var v = vertices[a.destino];
+        if (v.distancia > u.distancia + a.peso) {
+          v.distancia = u.distancia + a.peso;
+          v.predecessor = u;
+          tamanhoCaminho[v.indice] = tamanhoCaminho[u.indice] + 1;
+          if (tamanhoCaminho[v.indice] >= n) {
+            int real = tamanhoNaArvore(v, n);
+            if (real >= n) {
+              System.out.printf("Caminho a partir da fonte %s contém um ciclo de peso negativo.\n",
+                  vertices[s].nome);
+              exibirCicloNegativo(g, s, u, v);
+              return false;
+            }
+            tamanhoCaminho[v.indice] = real;
+          }
+          if (!naFila[v.indice]) {
+            fila.add(v.indice);
+            naFila[v.indice] = true;
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Conta as arestas do caminho de v até a fonte seguindo os predecessores,
+   * parando em n (o que só acontece se houver um ciclo no caminho).
+   * Complexidade: O(V).
+   */
+  private int tamanhoNaArvore(Grafo.Vertice v, int n) {
+    int tamanho = 0;
+    for (Grafo.Vertice x = v.predecessor; x != null && tamanho < n; x = x.predecessor) {
+      tamanho++;
+    }
+    return tamanho;
+  }
+
+  /**
+   * SPFA sobre um GrafoCSR, com a mesma saída de executar(GrafoCSR, ...).
+   * A fila é um vetor circular de int (cada vértice está na fila no máximo
+   * uma vez, então V posições bastam).
+   *
+   * @param g           O grafo em formato CSR.
+   * @param s           O índice do vértice de origem (fonte).
+   * @param distancia   Saída: distancia[v] (Integer.MAX_VALUE se não alcançável).
+   * @param predecessor Saída: predecessor[v] (-1 se não tem).
+   * @return true se não houver ciclos de peso negativo alcançáveis da fonte,
+   *         false caso contrário.
+   *         Complexidade: O(V * A) no pior caso.
+   */
+  public boolean executarComFila(GrafoCSR g, int s, int[] distancia, int[] predecessor) {
+    int n = g.quantidadeVertices();
+    Arrays.fill(distancia, Integer.MAX_VALUE);
+    Arrays.fill(predecessor, -1);
+    distancia[s] = 0;
+    int[] tamanhoCaminho = new int[n];
+    boolean[] naFila = new boolean[n];
+    int[] fila = new int[n];
+    int inicio = 0;
+    int tamanhoFila = 1;
+    fila[0] = s;
+    naFila[s] = true;
+
+    while (tamanhoFila > 0) {
+      int u = fila[inicio];
+      inicio = inicio + 1 == n ? 0 : inicio + 1;
+      tamanhoFila--;
+      naFila[u] = false;
+      int du = distancia[u];
+      for (int e = g.inicio(u), fim = g.fim(u); e < fim; e++) {
+        int v = g.destino(e);
+        if (distancia[v] > du + g.peso(e)) {
+          distancia[v] = du + g.peso(e);
+          predecessor[v] = u;
+          tamanhoCaminho[v] = tamanhoCaminho[u] + 1;
+          if (tamanhoCaminho[v] >= n) {
+            int real = 0;
+            for (int x = predecessor[v]; x != -1 && real < n; x = predecessor[x]) {
+              real++;
+            }
+            if (real >= n) {
+              return false;
+            }
+            tamanhoCaminho[v] = real;
+          }
+          if (!naFila[v]) {
+            int fimFila = inicio + tamanhoFila;
+            fila[fimFila >= n ? fimFila - n : fimFila] = v;
+            tamanhoFila++;
+            naFila[v] = true;
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Procura um ciclo de peso negativo alcançável de s com o Bellman-Ford de
+   * fila mais a "desmontagem de subárvore" de Tarjan, que encontra o ciclo
+   * assim que ele se forma na árvore de predecessores (em geral bem antes da
+   * passada V-1).
+   *
+   * A árvore de predecessores é guardada em pré-ordem numa lista duplamente
+   * encadeada (anterior/proximo), com a profundidade de cada vértice; a
+   * subárvore de v são os vértices logo depois de v na lista com profundidade
+   * maior que a dele. Quando a aresta (u, v) melhora a distância de v:
+   * - se u está na subárvore de v, o caminho v -> ... -> u mais a aresta
+   *   (u, v) é um ciclo negativo;
+   * - senão, a subárvore de v é desmontada (seus vértices saem da árvore e,
+   *   se estiverem na fila, não são processados até melhorarem de novo,
+   *   pois a distância deles com certeza vai cair) e v vira filho de u.
+   *
+   * @param g O grafo em formato CSR.
+   * @param s O índice do vértice de origem (fonte).
+   * @return Os vértices do ciclo na ordem das arestas (o último liga-se ao
+   *         primeiro), ou um vetor vazio se não há ciclo negativo alcançável de s.
+   *         Complexidade: O(V * A) no pior caso; a desmontagem custa O(1)
+   *         amortizado por vértice removido.
+   */
+  public int[] detectarCicloNegativo(GrafoCSR g, int s) {
+    int n = g.quantidadeVertices();
+    long[] distancia = new long[n];
+    Arrays.fill(distancia, Long.MAX_VALUE);
+    int[] predecessor = new int[n];
+    Arrays.fill(predecessor, -1);
+    int[] profundidade = new int[n];
+    int[] anterior = new int[n];
+    int[] proximo = new int[n];
+    boolean[] naArvore = new boolean[n];
+    boolean[] naFila = new boolean[n];
+    int[] fila = new int[n];
+    int[] subarvore = new int[n];
+    int inicio = 0;
+    int tamanhoFila = 1;
+    fila[0] = s;
+    naFila[s] = true;
+    distancia[s] = 0;
+    naArvore[s] = true;
+    anterior[s] = -1;
+    proximo[s] = -1;
+
+    while (tamanhoFila > 0) {
+      int u = fila[inicio];
+      inicio = inicio + 1 == n ? 0 : inicio + 1;
+      tamanhoFila--;
+      naFila[u] = false;
+      if (!naArvore[u])
+        continue; // Desmontado: a distância de u ainda vai melhorar.
+      for (int e = g.inicio(u), fim = g.fim(u); e < fim; e++) {
+        int v = g.destino(e);
+        long nova = distancia[u] + g.peso(e);
+        if (nova >= distancia[v])
+          continue;
+
+        if (v == u) {
+          return new int[] { v }; // Laço negativo.
+        }
+        if (naArvore[v]) {
+          // Coleta a subárvore de v (sem v) percorrendo a pré-ordem.
+          int tamanho = 0;
+          for (int x = proximo[v]; x != -1 && profundidade[x] > profundidade[v]; x = proximo[x]) {
+            if (x == u) {
+              return cicloAte(predecessor, v, u);
+            }
+            subarvore[tamanho++] = x;
+          }
+          for (int i = 0; i < tamanho; i++) {
+            int x = subarvore[i];
+            naArvore[x] = false;
+            predecessor[x] = -1;
+          }
+          // Tira v e sua subárvore (um trecho contíguo) da lista.
+          int ultimo = tamanho == 0 ? v : subarvore[tamanho - 1];
+          int depois = proximo[ultimo];
+          proximo[anterior[v]] = depois;
+          if (depois != -1)
+            anterior[depois] = anterior[v];
+        }
+
+        distancia[v] = nova;
+        predecessor[v] = u;
+        naArvore[v] = true;
+        profundidade[v] = profundidade[u] + 1;
+        // v entra logo depois de u na pré-ordem (primeiro filho de u).
+        int depoisDeU = proximo[u];
+        proximo[u] = v;
+        anterior[v] = u;
+        proximo[v] = depoisDeU;
+        if (depoisDeU != -1)
+          anterior[depoisDeU] = v;
+
+        if (!naFila[v]) {
+          int fimFila = inicio + tamanhoFila;
+          fila[fimFila >= n ? fimFila - n : fimFila] = v;
+          tamanhoFila++;
+          naFila[v] = true;
+        }
+      }
+    }
+    return new int[0];
+  }
+
+  /**
+   * Mesmo que detectarCicloNegativo(GrafoCSR, s), a partir do Grafo.
+   */
+  public int[] detectarCicloNegativo(Grafo g, int s) {
+    return detectarCicloNegativo(g.paraCSR(false), s);
+  }
+
+  // Caminho v -> ... -> u na árvore (seguindo os predecessores de u até v).
+  private static int[] cicloAte(int[] predecessor, int v, int u) {
+    int tamanho = 1;
+    for (int x = u; x != v; x = predecessor[x]) {
+      tamanho++;
+    }
+    int[] ciclo = new int[tamanho];
+    for (int x = u, i = tamanho - 1; i >= 0; x = predecessor[x], i--) {
+      ciclo[i] = x;
+    }
+    return ciclo;
+  }
+
   /**
    * Tenta relaxar uma aresta (u, v) com peso w.
    * Se um caminho mais curto para v é encontrado através de u, atualiza a
@@ -386,5 +568,57 @@ public class BellmanFord {
         System.out.println("Nenhum ciclo de peso negativo encontrado a partir desta fonte.");
       }
     }
+
+    // Mesmo grafo em formato CSR, a partir da fonte s.
+    System.out.println("\n--- Bellman-Ford sobre o GrafoCSR a partir da fonte: s ---");
+    GrafoCSR csr = g.paraCSR(false);
+    int[] distancia = new int[csr.quantidadeVertices()];
+    int[] predecessor = new int[csr.quantidadeVertices()];
+    boolean semCicloNegativoCSR = bellmanFord.executar(csr, 0, distancia, predecessor);
+    System.out.println("Distâncias: " + Arrays.toString(distancia));
+    System.out.println("Predecessores: " + Arrays.toString(predecessor));
+    System.out.println(semCicloNegativoCSR ? "Nenhum ciclo de peso negativo encontrado."
+        : "Ciclo de peso negativo alcançável a partir de s.");
+
+    // Versão com fila (SPFA) no mesmo grafo, a partir da fonte s.
+    System.out.println("\n--- Bellman-Ford com fila (SPFA) a partir da fonte: s ---");
+    boolean semCicloNegativoFila = bellmanFord.executarComFila(g, 0);
+    for (Grafo.Vertice v : g.getVertices()) {
+      System.out.printf("Distância de s a %s: %d\n", v.nome, v.distancia);
+    }
+    System.out.println(semCicloNegativoFila ? "Nenhum ciclo de peso negativo encontrado."
+        : "Ciclo de peso negativo alcançável a partir de s.");
+
+    // Grafo grande, quase todo com pesos positivos e algumas arestas negativas.
+    int numVertices = 20_000;
+    Random aleatorio = new Random(1);
+    GrafoCSR.Construtor construtor = new GrafoCSR.Construtor(numVertices, numVertices * 5);
+    for (int u = 0; u < numVertices; u++) {
+      construtor.adicionarAresta(u, (u + 1) % numVertices, 100); // Garante que todos são alcançáveis.
+      for (int j = 0; j < 4; j++) {
+        int peso = aleatorio.nextInt(100) < 2 ? -aleatorio.nextInt(5) : 1 + aleatorio.nextInt(100);
+        construtor.adicionarAresta(u, aleatorio.nextInt(numVertices), peso);
+      }
+    }
+    GrafoCSR grande = construtor.construir(false);
+    int[] distanciaClassica = new int[numVertices];
+    int[] distanciaFila = new int[numVertices];
+    int[] pred = new int[numVertices];
+    long inicio = System.nanoTime();
+    boolean okClassico = bellmanFord.executar(grande, 0, distanciaClassica, pred);
+    double tempoClassico = (System.nanoTime() - inicio) / 1e6;
+    inicio = System.nanoTime();
+    boolean okFila = bellmanFord.executarComFila(grande, 0, distanciaFila, pred);
+    double tempoFila = (System.nanoTime() - inicio) / 1e6;
+    System.out.printf("\n%d vértices: clássico %.1f ms, com fila %.1f ms, mesmo resultado: %b\n", numVertices,
+        tempoClassico, tempoFila, okClassico == okFila && Arrays.equals(distanciaClassica, distanciaFila));
+
+    // Detecção de ciclo negativo com desmontagem de subárvore, no grafo do exercício.
+    int[] ciclo = bellmanFord.detectarCicloNegativo(g, 0);
+    StringBuilder sb = new StringBuilder("\nCiclo negativo (desmontagem de subárvore): ");
+    for (int v : ciclo) {
+      sb.append(nomes[v]).append(" -> ");
+    }
+    System.out.println(ciclo.length == 0 ? "\nNenhum ciclo negativo." : sb.append(nomes[ciclo[0]]));
   }
 }
\ No newline at end of file
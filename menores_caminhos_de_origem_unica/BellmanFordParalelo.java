@@ -0,0 +1,242 @@
+package menores_caminhos_de_origem_unica;
+
+import dijkstra.GrafoCSR;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bellman-Ford paralelo sobre uma lista de arestas "achatada": três vetores
+ * paralelos origem[], destino[] e peso[] (structure of arrays), em vez de
+ * objetos Vertice/Aresta. Cada passada divide as arestas em blocos contíguos
+ * que são relaxados em paralelo por um ForkJoinPool.
+ *
+ * Distância e predecessor de cada vértice ficam empacotados num único long
+ * (distância nos 32 bits altos, predecessor nos 32 baixos) dentro de um
+ * AtomicLongArray. Assim o "mínimo atômico" é um único compare-and-set e o
+ * predecessor nunca fica inconsistente com a distância.
+ *
+ * Ler uma distância que outra thread acabou de diminuir só ajuda: depois da
+ * passada k, todo vértice cujo caminho mínimo tem até k arestas já está
+ * correto, como no algoritmo sequencial. Se uma passada inteira não muda
+ * nada, as distâncias convergiram e o algoritmo para antes das V-1 passadas.
+ */
+public class BellmanFordParalelo {
+
+  // Quantas arestas cada tarefa relaxa.
+  private static final int TAMANHO_BLOCO = 4096;
+
+  private final int numVertices;
+  private final int[] origem;
+  private final int[] destino;
+  private final int[] peso;
+  private final ForkJoinPool pool;
+
+  /**
+   * Achata as arestas do grafo CSR nos três vetores paralelos.
+   *
+   * @param g       O grafo em formato CSR.
+   * @param threads Número de threads do pool.
+   *                Complexidade: O(V + A).
+   */
+  public BellmanFordParalelo(GrafoCSR g, int threads) {
+    this.numVertices = g.quantidadeVertices();
+    int numArestas = g.quantidadeArestas();
+    this.origem = new int[numArestas];
+    this.destino = new int[numArestas];
+    this.peso = new int[numArestas];
+    for (int u = 0; u < numVertices; u++) {
+      for (int e = g.inicio(u), fim = g.fim(u); e < fim; e++) {
+        origem[e] = u;
+        destino[e] = g.destino(e);
+        peso[e] = g.peso(e);
+      }
+    }
+    this.pool = new ForkJoinPool(threads);
+  }
+
+  /**
+   * Encerra as threads do pool.
+   */
+  public void encerrar() {
+    pool.shutdown();
+  }
+
+  /**
+   * Executa o Bellman-Ford a partir de s.
+   *
+   * @param s           O índice do vértice de origem (fonte).
+   * @param distancia   Saída: distancia[v] (Integer.MAX_VALUE se não alcançável).
+   * @param predecessor Saída: predecessor[v] (-1 se não tem).
+   * @return true se não houver ciclos de peso negativo alcançáveis da fonte,
+   *         false caso contrário (o mesmo que BellmanFord.executar).
+   *         Complexidade: O(V * A / P) com P threads no pior caso; para antes
+   *         se uma passada não alterar nenhuma distância.
+   */
+  public boolean executar(int s, int[] distancia, int[] predecessor) {
+    AtomicLongArray estado = new AtomicLongArray(numVertices);
+    long inicial = empacotar(Integer.MAX_VALUE, -1);
+    for (int v = 0; v < numVertices; v++) {
+      estado.set(v, inicial);
+    }
+    estado.set(s, empacotar(0, -1));
+
+    int blocos = (origem.length + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO;
+    boolean semCicloNegativo = true;
+    if (blocos > 0) {
+      boolean mudou = true;
+      for (int i = 0; i < numVertices - 1 && mudou; i++) {
+        mudou = pool.invoke(new Passada(estado, 0, blocos, true));
+      }
+      // Só é preciso verificar se a última passada ainda mudou alguma coisa.
+      if (mudou) {
+        semCicloNegativo = !pool.invoke(new Passada(estado, 0, blocos, false));
+      }
+    }
+
+    for (int v = 0; v < numVertices; v++) {
+      long x = estado.get(v);
+      distancia[v] = distanciaDe(x);
+      predecessor[v] = predecessorDe(x);
+    }
+    return semCicloNegativo;
+  }
+
+  /**
+   * Tarefa fork-join que divide os blocos de arestas ao meio até sobrar um.
+   * Com relaxar = true, relaxa as arestas do bloco e retorna se alguma
+   * distância mudou; com relaxar = false, apenas verifica se alguma aresta
+   * ainda poderia ser relaxada (detecção de ciclo negativo).
+   */
+  private final class Passada extends RecursiveTask<Boolean> {
+    private static final long serialVersionUID = 1L;
+
+    private final AtomicLongArray estado;
+    private final int primeiroBloco;
+    private final int fimBloco;
+    private final boolean relaxar;
+
+    Passada(AtomicLongArray estado, int primeiroBloco, int fimBloco, boolean relaxar) {
+      this.estado = estado;
+      this.primeiroBloco = primeiroBloco;
+      this.fimBloco = fimBloco;
+      this.relaxar = relaxar;
+    }
+
+    @Override
+    protected Boolean compute() {
+      if (fimBloco - primeiroBloco > 1) {
+        int meio = (primeiroBloco + fimBloco) >>> 1;
+        Passada esquerda = new Passada(estado, primeiroBloco, meio, relaxar);
+        esquerda.fork();
+        boolean direita = new Passada(estado, meio, fimBloco, relaxar).compute();
+        return esquerda.join() | direita;
+      }
+      boolean mudou = false;
+      int fim = Math.min(origem.length, fimBloco * TAMANHO_BLOCO);
+      for (int e = primeiroBloco * TAMANHO_BLOCO; e < fim; e++) {
+        int du = distanciaDe(estado.get(origem[e]));
+        if (du == Integer.MAX_VALUE)
+          continue;
+        int nova = du + peso[e];
+        if (relaxar) {
+          mudou |= minimoAtomico(destino[e], nova, origem[e]);
+        } else if (distanciaDe(estado.get(destino[e])) > nova) {
+          return true;
+        }
+      }
+      return mudou;
+    }
+
+    // Grava (nova, u) em v se nova for menor que a distância atual, repetindo o
+    // compare-and-set enquanto outra thread alterar v no meio do caminho.
+    private boolean minimoAtomico(int v, int nova, int u) {
+      long atual = estado.get(v);
+      while (nova < distanciaDe(atual)) {
+        if (estado.compareAndSet(v, atual, empacotar(nova, u))) {
+          return true;
+        }
+        atual = estado.get(v);
+      }
+      return false;
+    }
+  }
+
+  private static long empacotar(int distancia, int predecessor) {
+    return ((long) distancia << 32) | (predecessor & 0xFFFFFFFFL);
+  }
+
+  private static int distanciaDe(long x) {
+    return (int) (x >> 32);
+  }
+
+  private static int predecessorDe(long x) {
+    return (int) x;
+  }
+
+  /**
+   * Compara com BellmanFord.executar(GrafoCSR, ...) no grafo do exercício e
+   * num grafo aleatório grande, variando o número de threads.
+   */
+  public static void main(String[] args) {
+    // Grafo do exercício 1 (tem um ciclo negativo alcançável de s).
+    GrafoCSR exercicio = new GrafoCSR.Construtor(5)
+        .adicionarAresta(0, 1, 6)
+        .adicionarAresta(0, 3, 7)
+        .adicionarAresta(1, 2, 5)
+        .adicionarAresta(1, 4, -4)
+        .adicionarAresta(1, 3, -8)
+        .adicionarAresta(2, 1, -2)
+        .adicionarAresta(3, 2, 2)
+        .adicionarAresta(3, 4, 9)
+        .adicionarAresta(4, 0, 2)
+        .adicionarAresta(4, 2, -4)
+        .construir(false);
+    BellmanFordParalelo pequeno = new BellmanFordParalelo(exercicio, 2);
+    int[] distancia = new int[5];
+    int[] predecessor = new int[5];
+    boolean ok = pequeno.executar(0, distancia, predecessor);
+    pequeno.encerrar();
+    System.out.println("Grafo do exercício: " + (ok ? "sem ciclo negativo" : "ciclo negativo alcançável de s")
+        + " (sequencial: " + new BellmanFord().executar(exercicio, 0, new int[5], new int[5]) + " / paralelo: "
+        + ok + ")");
+
+    // Grafo grande sem ciclos negativos: pesos positivos mais arestas negativas
+    // só "para frente" (u -> v com v > u), que não fecham ciclo.
+    int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+    Random aleatorio = new Random(5);
+    GrafoCSR.Construtor construtor = new GrafoCSR.Construtor(numVertices, numVertices * 6);
+    for (int u = 0; u < numVertices; u++) {
+      for (int j = 0; j < 5; j++) {
+        construtor.adicionarAresta(u, aleatorio.nextInt(numVertices), 1 + aleatorio.nextInt(1000));
+      }
+      if (u + 1 < numVertices && aleatorio.nextInt(10) == 0) {
+        construtor.adicionarAresta(u, u + 1 + aleatorio.nextInt(numVertices - u - 1), -aleatorio.nextInt(50));
+      }
+    }
+    GrafoCSR g = construtor.construir(false);
+
+    int[] esperado = new int[numVertices];
+    long inicio = System.nanoTime();
+    boolean okSequencial = new BellmanFord().executar(g, 0, esperado, new int[numVertices]);
+    double tempoSequencial = (System.nanoTime() - inicio) / 1e6;
+    System.out.printf("%d vértices, %d arestas. Sequencial (V-1 passadas): %.1f ms\n", numVertices,
+        g.quantidadeArestas(), tempoSequencial);
+
+    distancia = new int[numVertices];
+    predecessor = new int[numVertices];
+    int maxThreads = Runtime.getRuntime().availableProcessors();
+    for (int threads = 1;; threads = Math.min(threads * 2, maxThreads)) {
+      BellmanFordParalelo paralelo = new BellmanFordParalelo(g, threads);
+      inicio = System.nanoTime();
+      boolean okParalelo = paralelo.executar(0, distancia, predecessor);
+      double tempo = (System.nanoTime() - inicio) / 1e6;
+      paralelo.encerrar();
+      System.out.printf("%2d thread(s): %.1f ms, mesmo resultado: %b\n", threads, tempo,
+          okParalelo == okSequencial && Arrays.equals(distancia, esperado));
+      if (threads == maxThreads)
+        break;
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package menores_caminhos_de_origem_unica;
+
+import dijkstra.GrafoCSR;
+import java.util.*;
+
+/**
+ * Classe que representa um Grafo direcionado com arestas ponderadas.
+ * Contém classes internas para Vertice e Aresta.
+ */
+class Grafo {
+
+  private final Vertice[] vertices; // Array de objetos Vertice, indexados por seu 'indice'.
+  private List<List<Aresta>> adjacencias; // Lista de listas de adjacência.
+                                          // adjacencias.get(u) retorna a lista de arestas saindo de 'u'.
+
+  /**
+   * Construtor da classe Grafo.
+   *
+   * @param nomesVertices Um array de Strings contendo os nomes dos vértices.
+   *                      A ordem desses nomes define o índice de cada vértice (0,
+   *                      1, 2...).
+   *                      Complexidade: O(V), onde V é o número de vértices, para
+   *                      inicializar as estruturas.
+   */
+  Grafo(String[] nomesVertices) {
+    this.adjacencias = new ArrayList<>(); // Inicializa a lista principal para adjacências.
+    this.vertices = new Vertice[nomesVertices.length]; // Cria o array de objetos Vertice.
+
+    // Para cada nome de vértice, cria um objeto Vertice e uma lista de adjacência
+    // vazia.
+    // Complexidade: O(V).
+    for (int i = 0; i < nomesVertices.length; i++) {
+      this.adjacencias.add(new ArrayList<>()); // Adiciona uma nova lista para as adjacências do vértice 'i'.
+      this.vertices[i] = new Vertice(nomesVertices[i], i); // Cria e armazena o objeto Vertice.
+    }
+  }
+
+  /**
+   * Adiciona uma aresta direcionada ao grafo.
+   *
+   * @param origem  O índice do vértice de origem.
+   * @param destino O índice do vértice de destino.
+   * @param peso    O peso da aresta.
+   *                Complexidade: O(1) para adicionar a aresta à lista de
+   *                adjacência.
+   */
+  public void adicionarAresta(int origem, int destino, int peso) {
+    adjacencias.get(origem).add(new Aresta(destino, peso));
+  }
+
+  /**
+   * Retorna a lista de arestas que saem de um determinado vértice.
+   *
+   * @param u O índice do vértice.
+   * @return Uma lista de objetos Aresta.
+   *         Complexidade: O(1).
+   */
+  public List<Aresta> vizinhos(int u) {
+    return adjacencias.get(u);
+  }
+
+  /**
+   * Retorna o array de todos os objetos Vertice do grafo.
+   *
+   * @return O array de Vertices.
+   *         Complexidade: O(1).
+   */
+  public Vertice[] getVertices() {
+    return vertices;
+  }
+
+  /**
+   * Retorna o número total de vértices no grafo.
+   *
+   * @return O número de vértices.
+   *         Complexidade: O(1).
+   */
+  public int quantidadeVertices() {
+    return vertices.length;
+  }
+
+  /**
+   * Converte o grafo para o formato CSR (vetores primitivos), repetindo as
+   * mesmas chamadas de adicionarAresta. A ordem dos vizinhos é preservada.
+   *
+   * @param comReverso Se true, monta também o grafo reverso.
+   * @return O grafo imutável em formato CSR.
+   *         Complexidade: O(V + A).
+   */
+  public GrafoCSR paraCSR(boolean comReverso) {
+    GrafoCSR.Construtor construtor = new GrafoCSR.Construtor(quantidadeVertices());
+    for (int u = 0; u < quantidadeVertices(); u++) {
+      for (Aresta a : adjacencias.get(u)) {
+        construtor.adicionarAresta(u, a.destino, a.peso);
+      }
+    }
+    return construtor.construir(comReverso);
+  }
+
+  /**
+   * Classe interna que representa um vértice no grafo.
+   */
+  static class Vertice {
+    String nome; // Nome do vértice (e.g., "s", "t").
+    int indice; // Índice numérico do vértice (e.g., 0, 1, 2).
+    int distancia; // Distância estimada da fonte até este vértice.
+                   // Inicializada com Integer.MAX_VALUE.
+    Vertice predecessor; // O vértice predecessor no caminho mais curto da fonte.
+                         // Usado para reconstruir o caminho.
+
+    /**
+     * Construtor da classe Vertice.
+     *
+     * @param nome   O nome do vértice.
+     * @param indice O índice numérico do vértice.
+     *               Complexidade: O(1).
+     */
+    Vertice(String nome, int indice) {
+      this.nome = nome;
+      this.indice = indice;
+      distancia = Integer.MAX_VALUE; // Define distância inicial como "infinito".
+      predecessor = null; // Sem predecessor inicial.
+    }
+  }
+
+  /**
+   * Classe interna que representa uma aresta no grafo.
+   */
+  static class Aresta {
+    int destino; // Índice do vértice de destino da aresta.
+    int peso; // Peso (custo) da aresta.
+
+    /**
+     * Construtor da classe Aresta.
+     *
+     * @param destino O índice do vértice de destino.
+     * @param peso    O peso da aresta.
+     *                Complexidade: O(1).
+     */
+    Aresta(int destino, int peso) {
+      this.destino = destino;
+      this.peso = peso;
+    }
+  }
+}
@@ -0,0 +1,314 @@
+package menores_caminhos_de_origem_unica;
+
+import dijkstra.DijkstraCSR;
+import dijkstra.GrafoCSR;
+import dijkstra.ResultadoCaminhos;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Algoritmo de Johnson para menores caminhos entre todos os pares em grafos
+ * esparsos com arestas de peso negativo (Cormen, seção 25.3).
+ *
+ * 1. Acrescenta um vértice virtual q com arestas de peso 0 para todos os
+ *    vértices e roda UM Bellman-Ford a partir de q, obtendo h(v).
+ * 2. Repondera cada aresta: w'(u, v) = w(u, v) + h(u) - h(v) >= 0.
+ * 3. Roda um Dijkstra por origem no grafo reponderado (em paralelo, cada
+ *    thread com o seu espaço de busca) e desfaz a reponderação:
+ *    d(u, v) = d'(u, v) - h(u) + h(v).
+ *
+ * Complexidade: O(V * A) do Bellman-Ford (bem menos com a fila do SPFA) mais
+ * V Dijkstras, O(V * (V + A) log V), contra O(V^2 * A) de rodar o
+ * Bellman-Ford de cada vértice.
+ */
+public class Johnson {
+
+  /** Valor guardado na matriz quando não há caminho. */
+  public static final int INFINITO = Integer.MAX_VALUE;
+
+  private final long limiteMemoriaBytes;
+
+  /**
+   * Cria o Johnson sem limite de memória: a matriz fica em memória sempre que
+   * couber num único int[] (V^2 < 2^31); acima disso vai para o disco.
+   */
+  public Johnson() {
+    this(Long.MAX_VALUE);
+  }
+
+  /**
+   * @param limiteMemoriaBytes Tamanho máximo da matriz em memória (4 bytes por
+   *                           par); acima disso, ou se V^2 não couber num
+   *                           int[], as linhas são gravadas num arquivo temporário.
+   */
+  public Johnson(long limiteMemoriaBytes) {
+    this.limiteMemoriaBytes = limiteMemoriaBytes;
+  }
+
+  /**
+   * Calcula as distâncias entre todos os pares do grafo.
+   *
+   * @param g O grafo (pode ter arestas negativas).
+   * @return A matriz de distâncias, ou null se o grafo tiver um ciclo de peso
+   *         negativo (nesse caso as distâncias não estão definidas).
+   * @throws IllegalArgumentException se um peso reponderado ou uma distância
+   *         não couber num int.
+   *         Complexidade: O(V * A + V * (V + A) log V).
+   */
+  public MatrizDistancias executar(Grafo g) {
+    return executar(g.paraCSR(false));
+  }
+
+  /**
+   * Mesmo que executar(Grafo), a partir da versão CSR do grafo.
+   */
+  public MatrizDistancias executar(GrafoCSR g) {
+    int n = g.quantidadeVertices();
+
+    // 1. Bellman-Ford a partir do vértice virtual q = n.
+    GrafoCSR.Construtor comVirtual = new GrafoCSR.Construtor(n + 1, g.quantidadeArestas() + n);
+    for (int u = 0; u < n; u++) {
+      for (int e = g.inicio(u), fim = g.fim(u); e < fim; e++) {
+        comVirtual.adicionarAresta(u, g.destino(e), g.peso(e));
+      }
+    }
+    for (int v = 0; v < n; v++) {
+      comVirtual.adicionarAresta(n, v, 0);
+    }
+    int[] h = new int[n + 1];
+    if (!new BellmanFord().executarComFila(comVirtual.construir(false), n, h, new int[n + 1])) {
+      return null;
+    }
+
+    // 2. Reponderação: w + h(u) - h(v) nunca é negativo. Calculada em long,
+    //    porque pesos e potenciais grandes podem estourar o int.
+    GrafoCSR.Construtor reponderado = new GrafoCSR.Construtor(n, g.quantidadeArestas());
+    for (int u = 0; u < n; u++) {
+      for (int e = g.inicio(u), fim = g.fim(u); e < fim; e++) {
+        int v = g.destino(e);
+        long peso = (long) g.peso(e) + h[u] - h[v];
+        if (peso > Integer.MAX_VALUE) {
+          throw new IllegalArgumentException("Peso reponderado da aresta (" + u + ", " + v + ") não cabe num int: " + peso);
+        }
+        reponderado.adicionarAresta(u, v, (int) peso);
+      }
+    }
+    GrafoCSR gLinha = reponderado.construir(false);
+
+    // 3. Um Dijkstra por origem, em paralelo.
+    boolean emDisco = 4L * n * n > limiteMemoriaBytes || !MatrizDistancias.cabeEmMemoria(n);
+    MatrizDistancias matriz = emDisco ? MatrizDistancias.emDisco(n) : MatrizDistancias.emMemoria(n);
+    DijkstraCSR dijkstra = new DijkstraCSR();
+    IntStream.range(0, n).parallel().forEach(u -> {
+      ResultadoCaminhos r = dijkstra.executar(gLinha, u, -1);
+      int[] linha = new int[n];
+      for (int v = 0; v < n; v++) {
+        if (!r.alcancado(v)) {
+          linha[v] = INFINITO;
+          continue;
+        }
+        long distancia = r.distancia(v) - h[u] + h[v];
+        if (distancia < Integer.MIN_VALUE || distancia >= INFINITO) {
+          throw new IllegalArgumentException("Distância de " + u + " a " + v + " não cabe num int: " + distancia);
+        }
+        linha[v] = (int) distancia;
+      }
+      matriz.gravarLinha(u, linha);
+    });
+    return matriz;
+  }
+
+  // ===============================================================================================
+  // Matriz de distâncias V x V (em memória ou em arquivo)
+  // ===============================================================================================
+
+  /**
+   * Matriz V x V de int, linha por linha. Em memória é um único int[] (sem um
+   * objeto por linha); em disco cada linha ocupa 4 * V bytes consecutivos de um
+   * arquivo temporário, apagado em close().
+   */
+  public static final class MatrizDistancias implements AutoCloseable {
+    private final int n;
+    private final int[] memoria;     // null se a matriz está em disco.
+    private final Path arquivo;      // null se a matriz está em memória.
+    private final FileChannel canal;
+
+    private MatrizDistancias(int n, int[] memoria, Path arquivo, FileChannel canal) {
+      this.n = n;
+      this.memoria = memoria;
+      this.arquivo = arquivo;
+      this.canal = canal;
+    }
+
+    // Um único int[] tem no máximo ~2^31 posições.
+    static boolean cabeEmMemoria(int n) {
+      return (long) n * n <= Integer.MAX_VALUE - 8;
+    }
+
+    static MatrizDistancias emMemoria(int n) {
+      if (!cabeEmMemoria(n)) {
+        throw new IllegalArgumentException("Matriz " + n + " x " + n + " grande demais para um único vetor.");
+      }
+      return new MatrizDistancias(n, new int[n * n], null, null);
+    }
+
+    static MatrizDistancias emDisco(int n) {
+      try {
+        Path arquivo = Files.createTempFile("johnson", ".dist");
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE,
+            StandardOpenOption.DELETE_ON_CLOSE);
+        return new MatrizDistancias(n, null, arquivo, canal);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    public int quantidadeVertices() {
+      return n;
+    }
+
+    public boolean emDisco() {
+      return memoria == null;
+    }
+
+    /**
+     * Distância de u a v (INFINITO se não há caminho).
+     * Complexidade: O(1) (uma leitura posicional de 4 bytes se estiver em disco).
+     */
+    public int distancia(int u, int v) {
+      if (memoria != null) {
+        return memoria[u * n + v];
+      }
+      ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.nativeOrder());
+      ler(buffer, ((long) u * n + v) * Integer.BYTES);
+      return buffer.getInt(0);
+    }
+
+    /**
+     * Copia a linha u (distâncias de u a todos os vértices) para 'saida'.
+     * Complexidade: O(V).
+     */
+    public void linha(int u, int[] saida) {
+      if (memoria != null) {
+        System.arraycopy(memoria, u * n, saida, 0, n);
+        return;
+      }
+      ByteBuffer buffer = ByteBuffer.allocate(n * Integer.BYTES).order(ByteOrder.nativeOrder());
+      ler(buffer, (long) u * n * Integer.BYTES);
+      buffer.flip();
+      buffer.asIntBuffer().get(saida, 0, n);
+    }
+
+    // Escritas posicionais em linhas diferentes podem acontecer em paralelo.
+    void gravarLinha(int u, int[] linha) {
+      if (memoria != null) {
+        System.arraycopy(linha, 0, memoria, u * n, n);
+        return;
+      }
+      ByteBuffer buffer = ByteBuffer.allocate(n * Integer.BYTES).order(ByteOrder.nativeOrder());
+      buffer.asIntBuffer().put(linha, 0, n);
+      long posicao = (long) u * n * Integer.BYTES;
+      try {
+        while (buffer.hasRemaining()) {
+          posicao += canal.write(buffer, posicao);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private void ler(ByteBuffer buffer, long posicao) {
+      try {
+        while (buffer.hasRemaining()) {
+          int lidos = canal.read(buffer, posicao);
+          if (lidos < 0) {
+            throw new IOException("Fim inesperado do arquivo " + arquivo);
+          }
+          posicao += lidos;
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    /**
+     * Fecha (e apaga) o arquivo, se a matriz estiver em disco.
+     */
+    @Override
+    public void close() {
+      if (canal != null) {
+        try {
+          canal.close();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    }
+  }
+
+  public static void main(String[] args) {
+    // Grafo da figura 25.6 do Cormen (tem arestas negativas, mas nenhum ciclo negativo).
+    String[] nomes = { "1", "2", "3", "4", "5" };
+    Grafo g = new Grafo(nomes);
+    g.adicionarAresta(0, 1, 3);
+    g.adicionarAresta(0, 2, 8);
+    g.adicionarAresta(0, 4, -4);
+    g.adicionarAresta(1, 3, 1);
+    g.adicionarAresta(1, 4, 7);
+    g.adicionarAresta(2, 1, 4);
+    g.adicionarAresta(3, 0, 2);
+    g.adicionarAresta(3, 2, -5);
+    g.adicionarAresta(4, 3, 6);
+
+    try (MatrizDistancias d = new Johnson().executar(g)) {
+      System.out.println("Distâncias entre todos os pares (Johnson):");
+      int[] linha = new int[nomes.length];
+      for (int u = 0; u < nomes.length; u++) {
+        d.linha(u, linha);
+        System.out.println(nomes[u] + ": " + Arrays.toString(linha));
+      }
+    }
+
+    // Com a aresta 2 -> 4 de peso -1, o ciclo 2 -> 4 -> 3 -> 2 passa a somar -2.
+    g.adicionarAresta(1, 3, -1);
+    System.out.println(new Johnson().executar(g) == null ? "Com a aresta 2 -> 4 (-1): ciclo de peso negativo."
+        : "Com a aresta 2 -> 4 (-1): nenhum ciclo de peso negativo?");
+
+    // Grafo aleatório maior, com a matriz gravada em disco, conferido contra o
+    // Bellman-Ford de algumas origens.
+    int numVertices = 2000;
+    Random aleatorio = new Random(11);
+    GrafoCSR.Construtor construtor = new GrafoCSR.Construtor(numVertices, numVertices * 4);
+    for (int u = 0; u < numVertices; u++) {
+      for (int j = 0; j < 4; j++) {
+        int v = aleatorio.nextInt(numVertices);
+        // Negativas só de u para v > u, para não fechar ciclos.
+        int peso = v > u && aleatorio.nextInt(5) == 0 ? -aleatorio.nextInt(20) : aleatorio.nextInt(100);
+        construtor.adicionarAresta(u, v, peso);
+      }
+    }
+    GrafoCSR grande = construtor.construir(false);
+    long inicio = System.nanoTime();
+    try (MatrizDistancias d = new Johnson(1 << 20).executar(grande)) {
+      double tempo = (System.nanoTime() - inicio) / 1e6;
+      int[] linha = new int[numVertices];
+      int[] esperado = new int[numVertices];
+      boolean confere = true;
+      for (int u = 0; u < numVertices; u += 97) {
+        new BellmanFord().executarComFila(grande, u, esperado, new int[numVertices]);
+        d.linha(u, linha);
+        confere &= Arrays.equals(linha, esperado);
+      }
+      System.out.printf("%d vértices: Johnson %.1f ms (matriz em disco: %b), confere com o Bellman-Ford: %b\n",
+          numVertices, tempo, d.emDisco(), confere);
+    }
+  }
+}
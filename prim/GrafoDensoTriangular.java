@@ -0,0 +1,176 @@
+package prim;
+
+// =================================================================================================
+// Grafo denso não direcionado em matriz triangular compactada
+// =================================================================================================
+
+/**
+ * Matriz de adjacência simétrica guardando só o triângulo superior (u < v),
+ * linha por linha, num único vetor: a linha u ocupa as posições
+ * inicioLinha(u) .. inicioLinha(u) + (n - u - 2), com os pesos de (u, u+1) até (u, n-1).
+ * Como no PrimAlgorithm, o peso 0 indica ausência de aresta.
+ *
+ * Comparado ao int[][] simétrico:
+ * - cada peso é guardado uma vez só, e não há um objeto por linha;
+ * - o vetor é de byte ou short quando todos os pesos cabem em 0..255 ou
+ *   0..65535 (sem sinal), o que divide a memória por 4 ou por 2 de novo.
+ *
+ * A linha de u, que o Prim percorre, é contígua para v > u; para v < u os
+ * pesos estão na coluna u das linhas anteriores, com passo decrescente. O
+ * PrimAlgorithm lê os vetores direto, sem passar por linha().
+ *
+ * Como tudo fica num único vetor Java, n(n-1)/2 não pode passar de
+ * Integer.MAX_VALUE - 8: o limite é de 65.536 vértices.
+ * Complexidade de memória: n(n-1)/2 pesos de 1, 2 ou 4 bytes.
+ */
+public final class GrafoDensoTriangular {
+    private final int n;
+    // Só um dos três vetores é usado. Visíveis no pacote para a passada fundida do PrimAlgorithm.
+    final byte[] pesosByte;
+    final short[] pesosShort;
+    final int[] pesosInt;
+
+    /**
+     * @param n           O número de vértices (até 65.536, para n(n-1)/2 caber num vetor Java).
+     * @param pesoMinimo  O menor peso que será guardado.
+     * @param pesoMaximo  O maior peso que será guardado (escolhe byte, short ou int).
+     * Complexidade: O(n^2) para alocar o vetor.
+     */
+    public GrafoDensoTriangular(int n, int pesoMinimo, int pesoMaximo) {
+        long tamanho = (long) n * (n - 1) / 2;
+        if (tamanho > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Grafo grande demais para a matriz triangular: " + n + " vértices.");
+        }
+        this.n = n;
+        int t = (int) Math.max(tamanho, 0);
+        if (pesoMinimo >= 0 && pesoMaximo <= 0xFF) {
+            pesosByte = new byte[t];
+            pesosShort = null;
+            pesosInt = null;
+        } else if (pesoMinimo >= 0 && pesoMaximo <= 0xFFFF) {
+            pesosByte = null;
+            pesosShort = new short[t];
+            pesosInt = null;
+        } else {
+            pesosByte = null;
+            pesosShort = null;
+            pesosInt = new int[t];
+        }
+    }
+
+    /**
+     * Compacta uma matriz simétrica (só o triângulo superior é lido).
+     * Complexidade: O(n^2).
+     */
+    public static GrafoDensoTriangular deMatriz(int[][] graph) {
+        int n = graph.length;
+        int min = 0;
+        int max = 0;
+        for (int u = 0; u < n; u++) {
+            for (int v = u + 1; v < n; v++) {
+                min = Math.min(min, graph[u][v]);
+                max = Math.max(max, graph[u][v]);
+            }
+        }
+        GrafoDensoTriangular g = new GrafoDensoTriangular(n, min, max);
+        for (int u = 0; u < n; u++) {
+            for (int v = u + 1; v < n; v++) {
+                g.definirPeso(u, v, graph[u][v]);
+            }
+        }
+        return g;
+    }
+
+    public int quantidadeVertices() {
+        return n;
+    }
+
+    /** Bytes por peso guardado: 1, 2 ou 4. */
+    public int bytesPorPeso() {
+        return pesosByte != null ? 1 : pesosShort != null ? 2 : 4;
+    }
+
+    /** Memória ocupada pelos pesos, em bytes. */
+    public long bytesUsados() {
+        return (long) n * (n - 1) / 2 * bytesPorPeso();
+    }
+
+    /**
+     * Define o peso da aresta {u, v} (0 remove a aresta).
+     * Complexidade: O(1).
+     */
+    public void definirPeso(int u, int v, int peso) {
+        if (u == v) {
+            throw new IllegalArgumentException("A diagonal não é guardada (laço em " + u + ").");
+        }
+        int i = indice(Math.min(u, v), Math.max(u, v));
+        if (pesosByte != null) {
+            if (peso < 0 || peso > 0xFF) {
+                throw new IllegalArgumentException("Peso " + peso + " não cabe em um byte.");
+            }
+            pesosByte[i] = (byte) peso;
+        } else if (pesosShort != null) {
+            if (peso < 0 || peso > 0xFFFF) {
+                throw new IllegalArgumentException("Peso " + peso + " não cabe em um short.");
+            }
+            pesosShort[i] = (short) peso;
+        } else {
+            pesosInt[i] = peso;
+        }
+    }
+
+    /**
+     * Peso da aresta {u, v}, ou 0 se não existe (ou se u == v).
+     * Complexidade: O(1).
+     */
+    public int peso(int u, int v) {
+        if (u == v) {
+            return 0;
+        }
+        return ler(indice(Math.min(u, v), Math.max(u, v)));
+    }
+
+    /**
+     * Copia a linha u (pesos de u para todos os vértices) para 'saida'. É o
+     * que o Prim percorre a cada passo.
+     * Complexidade: O(n).
+     */
+    public void linha(int u, int[] saida) {
+        // v < u: peso na linha v, coluna u. Entre v e v+1 o índice avança n - v - 2.
+        int i = u - 1; // indice(0, u)
+        for (int v = 0; v < u; v++) {
+            saida[v] = ler(i);
+            i += n - v - 2;
+        }
+        saida[u] = 0;
+        // v > u: trecho contíguo da linha u.
+        int inicio = u + 1 < n ? indice(u, u + 1) : 0;
+        int quantos = n - u - 1;
+        if (pesosByte != null) {
+            for (int k = 0; k < quantos; k++) {
+                saida[u + 1 + k] = pesosByte[inicio + k] & 0xFF;
+            }
+        } else if (pesosShort != null) {
+            for (int k = 0; k < quantos; k++) {
+                saida[u + 1 + k] = pesosShort[inicio + k] & 0xFFFF;
+            }
+        } else {
+            System.arraycopy(pesosInt, inicio, saida, u + 1, quantos);
+        }
+    }
+
+    int ler(int i) {
+        if (pesosByte != null) {
+            return pesosByte[i] & 0xFF;
+        }
+        if (pesosShort != null) {
+            return pesosShort[i] & 0xFFFF;
+        }
+        return pesosInt[i];
+    }
+
+    // Posição de (u, v), u < v: as linhas 0..u-1 ocupam u*n - u(u+1)/2 posições.
+    int indice(int u, int v) {
+        return (int) ((long) u * n - (long) u * (u + 1) / 2 + (v - u - 1));
+    }
+}
@@ -1,6 +1,10 @@
 package prim;
 
 import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntBinaryOperator;
 
 public class PrimAlgorithm {
 
@@ -20,6 +24,11 @@ public class PrimAlgorithm {
      * Um valor 0 (ou infinito) indica ausência de aresta.
      */
     public void primMST(int[][] graph) {
+        printMST(primParents(graph), graph);
+    }
+
+    // Corpo do primMST: retorna o vetor de pais da AGM.
+    private int[] primParents(int[][] graph) {
         // Array para armazenar o vértice pai de cada vértice na AGM
         int[] parent = new int[numVertices];
 
@@ -62,8 +71,7 @@ public class PrimAlgorithm {
             }
         }
 
-        // Imprimir a Árvore Geradora Mínima construída
-        printMST(parent, graph);
+        return parent;
     }
 
     /**
@@ -92,7 +100,8 @@ public class PrimAlgorithm {
      * @param parent Array de pais, indicando a estrutura da AGM.
      * @param graph Matriz de adjacência do grafo original.
      */
-    private void printMST(int[] parent, int[][] graph) {
+    void printMST(int[] parent, int[][] graph) {
+        verificarAlcancados(parent);
         System.out.println("Aresta \tPeso");
         int totalCost = 0;
         for (int i = 1; i < numVertices; i++) {
@@ -102,6 +111,368 @@ public class PrimAlgorithm {
         System.out.println("Custo total da AGM: " + totalCost);
     }
 
+    // Mesma saída, lendo os pesos da matriz triangular.
+    private void printMST(int[] parent, GrafoDensoTriangular graph) {
+        verificarAlcancados(parent);
+        System.out.println("Aresta \tPeso");
+        int totalCost = 0;
+        for (int i = 1; i < numVertices; i++) {
+            System.out.println(parent[i] + " - " + i + "\t" + graph.peso(i, parent[i]));
+            totalCost += graph.peso(i, parent[i]);
+        }
+        System.out.println("Custo total da AGM: " + totalCost);
+    }
+
+    /**
+     * Rejeita a árvore se algum vértice ficou sem pai (parent -1 fora da raiz):
+     * o grafo é desconexo e não há AGM, como no primMST, que falha nesse caso.
+     */
+    private void verificarAlcancados(int[] parent) {
+        for (int i = 1; i < numVertices; i++) {
+            if (parent[i] == -1) {
+                throw new IllegalArgumentException("Grafo desconexo: o vértice " + i
+                        + " não é alcançável a partir do vértice 0.");
+            }
+        }
+    }
+
+    /**
+     * primMST sobre a matriz triangular compactada (metade da memória do
+     * int[][], ou menos com pesos de byte/short). Usa a passada fundida, então
+     * a árvore e a saída são as mesmas do primMST sobre a matriz completa.
+     *
+     * @param graph O grafo denso não direcionado.
+     */
+    public void primMST(GrafoDensoTriangular graph) {
+        primMSTFused(graph, 1);
+    }
+
+    /**
+     * primMST sobre um grafo completo com pesos calculados sob demanda
+     * (ex.: distância entre pontos): peso.applyAsInt(u, v) é chamado na hora
+     * de varrer a linha de u, e a matriz V x V nunca é montada. A memória é
+     * O(V). Diferente da matriz, 0 é um peso válido (pontos coincidentes têm
+     * distância 0); a ausência de aresta é indicada por Integer.MAX_VALUE.
+     *
+     * @param peso    Função simétrica de peso entre dois vértices.
+     * @param threads Número de threads para varrer cada linha.
+     * @throws IllegalArgumentException se algum vértice não for alcançável a
+     *         partir de 0 por pesos menores que Integer.MAX_VALUE.
+     * Complexidade: O(V^2) chamadas da função, divididas entre as threads.
+     */
+    public void primMST(IntBinaryOperator peso, int threads) {
+        int[] parent = primParentsFused(null, null, peso, threads);
+        verificarAlcancados(parent);
+        System.out.println("Aresta \tPeso");
+        long totalCost = 0;
+        for (int i = 1; i < numVertices; i++) {
+            System.out.println(parent[i] + " - " + i + "\t" + peso.applyAsInt(i, parent[i]));
+            totalCost += peso.applyAsInt(i, parent[i]);
+        }
+        System.out.println("Custo total da AGM: " + totalCost);
+    }
+
+    // =============================================================================================
+    // Prim denso com atualização e busca do mínimo fundidas
+    // =============================================================================================
+
+    // Abaixo deste tamanho de bloco não compensa criar tarefas do Fork/Join.
+    private static final int BLOCO_MINIMO = 4096;
+
+    /**
+     * Mesmo resultado de primMST (mesma árvore, mesma saída de printMST), mas
+     * cada passo percorre a linha do vértice recém-incluído UMA vez: na mesma
+     * passada atualiza key[v] e parent[v] e já acha o próximo vértice de menor
+     * chave. O primMST faz duas passadas por passo (findMinKeyVertex e a
+     * atualização), ou seja, lê key[] e included[] duas vezes.
+     *
+     * Com threads > 1 e V grande, a linha é dividida em blocos processados em
+     * paralelo por um ForkJoinPool; cada bloco devolve o seu mínimo e os
+     * mínimos são combinados na ordem dos blocos. Os empates vão sempre para o
+     * menor índice, como no findMinKeyVertex, por isso a árvore é idêntica.
+     * A mesma passada com a Vector API está em PrimVetorizado, que compila à parte.
+     *
+     * @param graph   Matriz de adjacência (0 indica ausência de aresta).
+     * @param threads Número de threads (1 = sequencial, sem pool).
+     * @throws IllegalArgumentException se o grafo for desconexo.
+     * Complexidade: O(V^2 / P) com P threads, mais O(V * blocos) para combinar os mínimos.
+     */
+    public void primMSTFused(int[][] graph, int threads) {
+        printMST(primParentsFused(graph, null, null, threads), graph);
+    }
+
+    /**
+     * primMSTFused sobre a matriz triangular, lendo os pesos direto do vetor
+     * compactado na mesma passada que atualiza as chaves: o trecho v > u da
+     * linha é contíguo; só o trecho v < u (coluna u das linhas anteriores) é
+     * lido com passo.
+     */
+    public void primMSTFused(GrafoDensoTriangular graph, int threads) {
+        printMST(primParentsFused(null, graph, null, threads), graph);
+    }
+
+    // Exatamente um entre 'matriz', 'triangular' e 'funcao' é não nulo.
+    // Vértices não alcançados a partir de 0 ficam com parent -1.
+    int[] primParentsFused(int[][] matriz, GrafoDensoTriangular triangular, IntBinaryOperator funcao, int threads) {
+        if (triangular != null && triangular.quantidadeVertices() != numVertices) {
+            throw new IllegalArgumentException("O grafo tem " + triangular.quantidadeVertices()
+                    + " vértices, esperado " + numVertices + ".");
+        }
+        int[] parent = new int[numVertices];
+        int[] key = new int[numVertices];
+        boolean[] included = new boolean[numVertices];
+        Arrays.fill(key, Integer.MAX_VALUE);
+        Arrays.fill(parent, -1);
+        if (numVertices == 0) {
+            return parent;
+        }
+
+        int blocos = threads <= 1 ? 1 : Math.max(1, Math.min(threads * 4, numVertices / BLOCO_MINIMO));
+        PassoFundido passo = new PassoFundido(key, parent, included, blocos, triangular, funcao);
+        ForkJoinPool pool = blocos > 1 ? new ForkJoinPool(threads) : null;
+        try {
+            // O vértice 0 (chave 0) é sempre o primeiro escolhido.
+            int u = 0;
+            included[u] = true;
+            for (int count = 0; count < numVertices - 1; count++) {
+                passo.u = u;
+                if (matriz != null) {
+                    passo.linha = matriz[u];
+                }
+                if (pool == null) {
+                    passo.processarBloco(0);
+                } else {
+                    pool.invoke(new TarefaBlocos(passo, 0, blocos));
+                }
+                u = passo.menorVertice();
+                if (u == -1) {
+                    break; // Grafo desconexo: nenhum vértice alcançável restante.
+                }
+                included[u] = true;
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+        return parent;
+    }
+
+    /**
+     * Estado de um passo do Prim fundido: a linha do vértice u (pesos de u para
+     * todos os vértices, lidos de 'linha', de 'triangular' ou de 'funcao') é dividida em
+     * blocos, e o bloco b guarda o seu menor (chave, vértice) em minimoBloco[b]
+     * e verticeBloco[b]. Blocos diferentes escrevem em posições diferentes de
+     * key[] e parent[], então não há disputa entre as threads.
+     */
+    private static final class PassoFundido {
+        final int[] key;
+        final int[] parent;
+        final boolean[] included;
+        final int blocos;
+        final int[] minimoBloco;
+        final int[] verticeBloco;
+        int u;
+        int[] linha;
+        final GrafoDensoTriangular triangular;
+        final IntBinaryOperator funcao;
+
+        PassoFundido(int[] key, int[] parent, boolean[] included, int blocos, GrafoDensoTriangular triangular,
+                IntBinaryOperator funcao) {
+            this.triangular = triangular;
+            this.funcao = funcao;
+            this.key = key;
+            this.parent = parent;
+            this.included = included;
+            this.blocos = blocos;
+            this.minimoBloco = new int[blocos];
+            this.verticeBloco = new int[blocos];
+        }
+
+        void processarBloco(int b) {
+            int n = key.length;
+            int inicio = (int) ((long) n * b / blocos);
+            int fim = (int) ((long) n * (b + 1) / blocos);
+            // O modo é escolhido uma vez por bloco, fora do laço: cada laço tem
+            // um corpo só, sem teste de modo nem chamada de interface por elemento.
+            if (linha != null) {
+                processarLinha(b, inicio, fim);
+            } else if (triangular != null) {
+                processarTriangular(b, inicio, fim);
+            } else {
+                processarFuncao(b, inicio, fim);
+            }
+        }
+
+        // Atualiza key[v] com a aresta (u, v) (peso 0 = ausência) e devolve a chave de v.
+        private int relaxar(int v, int peso) {
+            int k = key[v];
+            if (peso != 0 && peso < k) {
+                key[v] = peso;
+                parent[v] = u;
+                return peso;
+            }
+            return k;
+        }
+
+        // Lê os pesos do vetor compactado sem copiar a linha: primeiro o trecho
+        // v < u, com passo, depois o trecho v > u, contíguo e com um laço por tipo
+        // de vetor. Os índices crescem de um trecho para o outro, então os
+        // empates continuam indo para o menor índice.
+        private void processarTriangular(int b, int inicio, int fim) {
+            GrafoDensoTriangular g = triangular;
+            int n = key.length;
+            int u = this.u;
+            int min = Integer.MAX_VALUE;
+            int minIndex = -1;
+
+            int fimColuna = Math.min(fim, u);
+            if (inicio < fimColuna) {
+                int i = g.indice(inicio, u);
+                for (int v = inicio; v < fimColuna; v++) {
+                    if (!included[v]) {
+                        int k = relaxar(v, g.ler(i));
+                        if (k < min) {
+                            min = k;
+                            minIndex = v;
+                        }
+                    }
+                    i += n - v - 2;
+                }
+            }
+
+            int inicioLinha = Math.max(inicio, u + 1);
+            if (inicioLinha < fim) {
+                // Posição de (u, v) é base + v.
+                int base = g.indice(u, inicioLinha) - inicioLinha;
+                if (g.pesosByte != null) {
+                    byte[] pesos = g.pesosByte;
+                    for (int v = inicioLinha; v < fim; v++) {
+                        if (!included[v]) {
+                            int k = relaxar(v, pesos[base + v] & 0xFF);
+                            if (k < min) {
+                                min = k;
+                                minIndex = v;
+                            }
+                        }
+                    }
+                } else if (g.pesosShort != null) {
+                    short[] pesos = g.pesosShort;
+                    for (int v = inicioLinha; v < fim; v++) {
+                        if (!included[v]) {
+                            int k = relaxar(v, pesos[base + v] & 0xFFFF);
+                            if (k < min) {
+                                min = k;
+                                minIndex = v;
+                            }
+                        }
+                    }
+                } else {
+                    int[] pesos = g.pesosInt;
+                    for (int v = inicioLinha; v < fim; v++) {
+                        if (!included[v]) {
+                            int k = relaxar(v, pesos[base + v]);
+                            if (k < min) {
+                                min = k;
+                                minIndex = v;
+                            }
+                        }
+                    }
+                }
+            }
+            minimoBloco[b] = min;
+            verticeBloco[b] = minIndex;
+        }
+
+        // Na matriz, 0 é ausência de aresta.
+        private void processarLinha(int b, int inicio, int fim) {
+            int[] linha = this.linha;
+            int min = Integer.MAX_VALUE;
+            int minIndex = -1;
+            for (int v = inicio; v < fim; v++) {
+                if (included[v]) {
+                    continue;
+                }
+                int peso = linha[v];
+                int k = key[v];
+                if (peso != 0 && peso < k) {
+                    k = peso;
+                    key[v] = peso;
+                    parent[v] = u;
+                }
+                if (k < min) {
+                    min = k;
+                    minIndex = v;
+                }
+            }
+            minimoBloco[b] = min;
+            verticeBloco[b] = minIndex;
+        }
+
+        // Na função, 0 é um peso válido e Integer.MAX_VALUE é ausência de aresta.
+        private void processarFuncao(int b, int inicio, int fim) {
+            IntBinaryOperator funcao = this.funcao;
+            int u = this.u;
+            int min = Integer.MAX_VALUE;
+            int minIndex = -1;
+            for (int v = inicio; v < fim; v++) {
+                if (included[v]) {
+                    continue;
+                }
+                int peso = funcao.applyAsInt(u, v);
+                int k = key[v];
+                if (peso < k) {
+                    k = peso;
+                    key[v] = peso;
+                    parent[v] = u;
+                }
+                if (k < min) {
+                    min = k;
+                    minIndex = v;
+                }
+            }
+            minimoBloco[b] = min;
+            verticeBloco[b] = minIndex;
+        }
+
+        // Combina os mínimos na ordem dos blocos (empate fica com o menor índice).
+        int menorVertice() {
+            int min = Integer.MAX_VALUE;
+            int minIndex = -1;
+            for (int b = 0; b < blocos; b++) {
+                if (verticeBloco[b] != -1 && minimoBloco[b] < min) {
+                    min = minimoBloco[b];
+                    minIndex = verticeBloco[b];
+                }
+            }
+            return minIndex;
+        }
+    }
+
+    // Divide os blocos [inicio, fim) ao meio até sobrar um bloco por tarefa.
+    private static final class TarefaBlocos extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final PassoFundido passo;
+        private final int inicio;
+        private final int fim;
+
+        TarefaBlocos(PassoFundido passo, int inicio, int fim) {
+            this.passo = passo;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio == 1) {
+                passo.processarBloco(inicio);
+                return;
+            }
+            int meio = (inicio + fim) >>> 1;
+            invokeAll(new TarefaBlocos(passo, inicio, meio), new TarefaBlocos(passo, meio, fim));
+        }
+    }
+
     public static void main(String[] args) {
         // Exemplo de grafo (matriz de adjacência)
         // Vértices: 0, 1, 2, 3, 4
@@ -116,5 +487,66 @@ public class PrimAlgorithm {
 
         PrimAlgorithm prim = new PrimAlgorithm(5); // Grafo com 5 vértices
         prim.primMST(graph);
+        System.out.println("\nMesmo grafo, passada fundida:");
+        prim.primMSTFused(graph, 1);
+
+        // Matriz densa aleatória (pesos pequenos, com muitos empates): compara o
+        // tempo e confere que os pais são idênticos aos do primMST.
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        Random random = new Random(3);
+        int[][] denso = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                denso[i][j] = denso[j][i] = 1 + random.nextInt(1000);
+            }
+        }
+        PrimAlgorithm grande = new PrimAlgorithm(n);
+        long inicio = System.nanoTime();
+        int[] esperado = grande.primParents(denso);
+        System.out.printf("\n%d vértices (matriz densa): primMST %.1f ms\n", n, (System.nanoTime() - inicio) / 1e6);
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1;; threads = Math.min(threads * 2, maxThreads)) {
+            inicio = System.nanoTime();
+            int[] pais = grande.primParentsFused(denso, null, null, threads);
+            System.out.printf("primMSTFused (%d thread(s)): %.1f ms, árvore idêntica: %b\n", threads,
+                    (System.nanoTime() - inicio) / 1e6, Arrays.equals(pais, esperado));
+            if (threads == maxThreads) {
+                break;
+            }
+        }
+
+        // A mesma matriz compactada no triângulo superior (pesos até 1000 cabem num short).
+        System.out.println("\nMatriz triangular do exemplo:");
+        prim.primMST(GrafoDensoTriangular.deMatriz(graph));
+        GrafoDensoTriangular triangular = GrafoDensoTriangular.deMatriz(denso);
+        denso = null;
+        inicio = System.nanoTime();
+        int[] pais = grande.primParentsFused(null, triangular, null, 1);
+        System.out.printf("Triangular (%d bytes por peso, %.1f MB contra %.1f MB do int[][]): %.1f ms, árvore idêntica: %b\n",
+                triangular.bytesPorPeso(), triangular.bytesUsados() / 1e6, 4.0 * n * n / 1e6,
+                (System.nanoTime() - inicio) / 1e6, Arrays.equals(pais, esperado));
+
+        // Grafo completo de pontos no plano, peso = quadrado da distância (a AGM
+        // é a mesma da distância euclidiana), sem montar a matriz.
+        int numPontos = 20_000;
+        int[] px = new int[numPontos];
+        int[] py = new int[numPontos];
+        for (int i = 0; i < numPontos; i++) {
+            px[i] = random.nextInt(10_000);
+            py[i] = random.nextInt(10_000);
+        }
+        IntBinaryOperator distancia2 = (u, v) -> {
+            int dx = px[u] - px[v];
+            int dy = py[u] - py[v];
+            return dx * dx + dy * dy;
+        };
+        inicio = System.nanoTime();
+        pais = new PrimAlgorithm(numPontos).primParentsFused(null, null, distancia2, 1);
+        long custo = 0;
+        for (int i = 1; i < numPontos; i++) {
+            custo += distancia2.applyAsInt(i, pais[i]);
+        }
+        System.out.printf("\n%d pontos, pesos calculados (matriz teria %.1f GB): %.1f ms, custo %d\n", numPontos,
+                4.0 * numPontos * numPontos / 1e9, (System.nanoTime() - inicio) / 1e6, custo);
     }
 }
\ No newline at end of file
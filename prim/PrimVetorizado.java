@@ -0,0 +1,175 @@
+package prim;
+
+import java.util.Arrays;
+import java.util.Random;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// =================================================================================================
+// Prim denso com a passada fundida em SIMD (Vector API)
+// =================================================================================================
+
+/**
+ * A passada fundida do PrimAlgorithm.primMSTFused (atualizar key[]/parent[] e
+ * achar o próximo vértice numa só varredura da linha), escrita com a Vector
+ * API: cada iteração compara e atualiza IntVector.SPECIES_PREFERRED.length()
+ * vértices de uma vez (8 com AVX2, 16 com AVX-512).
+ *
+ * - A atualização é um blend: a máscara "peso != 0 e peso < key e v fora da
+ *   AGM" escolhe, lane a lane, o peso novo em key[] e u em parent[].
+ * - O mínimo é mantido por lane junto com o índice, trocando só quando a chave
+ *   é estritamente menor; no fim, as lanes são combinadas pela menor chave e,
+ *   nos empates, pelo menor índice. Por isso a árvore é a mesma do primMST.
+ * - included[] vira um int[] com 0 (fora) ou -1 (dentro), para ser lido como
+ *   vetor e comparado como os outros.
+ *
+ * O módulo jdk.incubator.vector ainda é incubado, então só este arquivo
+ * depende dele; o resto do pacote compila sem opções extras. Para usá-lo:
+ *
+ *   javac --add-modules jdk.incubator.vector -d out prim/*.java
+ *   java --add-modules jdk.incubator.vector -cp out prim.PrimVetorizado
+ *
+ * Complexidade: O(V^2 / L) com L lanes por vetor, com O(V) de memória além da matriz.
+ */
+public class PrimVetorizado {
+
+    private static final VectorSpecies<Integer> ESPECIE = IntVector.SPECIES_PREFERRED;
+
+    // Número de vértices no grafo
+    private final int numVertices;
+
+    public PrimVetorizado(int numVertices) {
+        this.numVertices = numVertices;
+    }
+
+    /**
+     * Encontra e imprime a AGM, com a mesma saída do PrimAlgorithm.primMST.
+     *
+     * @param graph Matriz de adjacência (0 indica ausência de aresta).
+     * @throws IllegalArgumentException se o grafo for desconexo.
+     */
+    public void primMST(int[][] graph) {
+        new PrimAlgorithm(numVertices).printMST(primParents(graph), graph);
+    }
+
+    // Vetor de pais da AGM; vértices não alcançados a partir de 0 ficam com -1.
+    int[] primParents(int[][] graph) {
+        int[] parent = new int[numVertices];
+        int[] key = new int[numVertices];
+        int[] incluido = new int[numVertices];
+        Arrays.fill(parent, -1);
+        Arrays.fill(key, Integer.MAX_VALUE);
+        if (numVertices == 0) {
+            return parent;
+        }
+
+        // O vértice 0 (chave 0) é sempre o primeiro escolhido.
+        int u = 0;
+        incluido[u] = -1;
+        for (int count = 0; count < numVertices - 1; count++) {
+            u = passo(graph[u], u, key, parent, incluido);
+            if (u == -1) {
+                break; // Grafo desconexo: nenhum vértice alcançável restante.
+            }
+            incluido[u] = -1;
+        }
+        return parent;
+    }
+
+    // Relaxa a linha de u e devolve o próximo vértice (menor chave, menor índice
+    // nos empates), ou -1 se nenhum vértice fora da AGM tem chave finita.
+    private static int passo(int[] linha, int u, int[] key, int[] parent, int[] incluido) {
+        int n = key.length;
+        int limite = ESPECIE.loopBound(n);
+        IntVector infinito = IntVector.broadcast(ESPECIE, Integer.MAX_VALUE);
+        IntVector pai = IntVector.broadcast(ESPECIE, u);
+        IntVector deslocamentos = IntVector.zero(ESPECIE).addIndex(1);
+        IntVector minimo = infinito;
+        IntVector indiceMinimo = IntVector.broadcast(ESPECIE, -1);
+
+        int v = 0;
+        for (; v < limite; v += ESPECIE.length()) {
+            IntVector peso = IntVector.fromArray(ESPECIE, linha, v);
+            IntVector k = IntVector.fromArray(ESPECIE, key, v);
+            VectorMask<Integer> fora = IntVector.fromArray(ESPECIE, incluido, v).eq(0);
+            VectorMask<Integer> melhora = peso.compare(VectorOperators.NE, 0).and(peso.lt(k)).and(fora);
+            k = k.blend(peso, melhora);
+            k.intoArray(key, v);
+            IntVector.fromArray(ESPECIE, parent, v).blend(pai, melhora).intoArray(parent, v);
+
+            // Os já incluídos não concorrem ao mínimo.
+            IntVector candidato = k.blend(infinito, fora.not());
+            VectorMask<Integer> menor = candidato.lt(minimo);
+            minimo = minimo.blend(candidato, menor);
+            indiceMinimo = indiceMinimo.blend(deslocamentos.add(v), menor);
+        }
+
+        int min = Integer.MAX_VALUE;
+        int minIndex = -1;
+        for (int lane = 0; lane < ESPECIE.length(); lane++) {
+            int indice = indiceMinimo.lane(lane);
+            int chave = minimo.lane(lane);
+            if (indice != -1 && (chave < min || (chave == min && indice < minIndex))) {
+                min = chave;
+                minIndex = indice;
+            }
+        }
+
+        // Resto da linha (menos de L vértices), com índices maiores que os das lanes.
+        for (; v < n; v++) {
+            if (incluido[v] != 0) {
+                continue;
+            }
+            int peso = linha[v];
+            int k = key[v];
+            if (peso != 0 && peso < k) {
+                k = peso;
+                key[v] = peso;
+                parent[v] = u;
+            }
+            if (k < min) {
+                min = k;
+                minIndex = v;
+            }
+        }
+        return minIndex;
+    }
+
+    public static void main(String[] args) {
+        // Mesmo exemplo do PrimAlgorithm.main.
+        int[][] graph = {
+            {0, 2, 0, 6, 0},
+            {2, 0, 3, 8, 5},
+            {0, 3, 0, 0, 7},
+            {6, 8, 0, 0, 9},
+            {0, 5, 7, 9, 0}
+        };
+        new PrimVetorizado(5).primMST(graph);
+
+        // Matriz densa aleatória com muitos empates: a árvore deve ser idêntica
+        // à do primMSTFused, inclusive com n que não é múltiplo de L.
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_001;
+        Random random = new Random(3);
+        int[][] denso = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                denso[i][j] = denso[j][i] = 1 + random.nextInt(1000);
+            }
+        }
+        PrimAlgorithm escalar = new PrimAlgorithm(n);
+        PrimVetorizado vetorizado = new PrimVetorizado(n);
+        System.out.printf("\n%d vértices, %d lanes por vetor:\n", n, ESPECIE.length());
+        for (int rodada = 0; rodada < 3; rodada++) { // As primeiras rodadas incluem a compilação do JIT.
+            long inicio = System.nanoTime();
+            int[] esperado = escalar.primParentsFused(denso, null, null, 1);
+            double tempoEscalar = (System.nanoTime() - inicio) / 1e6;
+            inicio = System.nanoTime();
+            int[] pais = vetorizado.primParents(denso);
+            double tempoVetor = (System.nanoTime() - inicio) / 1e6;
+            System.out.printf("primMSTFused %.1f ms, PrimVetorizado %.1f ms, árvore idêntica: %b\n", tempoEscalar,
+                    tempoVetor, Arrays.equals(pais, esperado));
+        }
+    }
+}